@@ -27,6 +27,8 @@ package kong.unirest;
 
 
 
+import java.io.File;
+import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -48,6 +50,61 @@ public interface AsyncClient {
      */
     <T> CompletableFuture<HttpResponse<T>> request(HttpRequest request, Function<RawResponse, HttpResponse<T>> transformer, CompletableFuture<HttpResponse<T>> callback);
 
+    /**
+     * Make a Async request where the response is passed to the transformer as soon as the status and headers arrive
+     * rather than after the whole body has been received. Clients which cannot stream fall back to a regular request.
+     * @param <T> The type of the body
+     * @param request the prepared request object
+     * @param transformer the function to transform the response
+     * @param callback the CompletableFuture that will handle the eventual response
+     * @return a CompletableFuture of a response
+     */
+    default <T> CompletableFuture<HttpResponse<T>> stream(HttpRequest request, Function<RawResponse, HttpResponse<T>> transformer, CompletableFuture<HttpResponse<T>> callback) {
+        return request(request, transformer, callback);
+    }
+
+    /**
+     * Make a Async request where the response is passed to the transformer as soon as the status and headers arrive
+     * and the body is taken with RawResponse::getContentPublisher. Clients which can't publish the body as it arrives
+     * fall back to streaming it.
+     * @param <T> The type of the body
+     * @param request the prepared request object
+     * @param transformer the function to transform the response
+     * @param callback the CompletableFuture that will handle the eventual response
+     * @return a CompletableFuture of a response
+     */
+    default <T> CompletableFuture<HttpResponse<T>> publish(HttpRequest request, Function<RawResponse, HttpResponse<T>> transformer, CompletableFuture<HttpResponse<T>> callback) {
+        return stream(request, transformer, callback);
+    }
+
+    /**
+     * Make a Async request where the response is passed to the transformer as soon as the status and headers arrive
+     * and the body is thrown away as it arrives without being kept. Small bodies are drained so the connection
+     * can be reused, larger ones (see Config::responseDrainLimit) abort the connection.
+     * Clients which can't do this fall back to a regular request.
+     * @param <T> The type of the body
+     * @param request the prepared request object
+     * @param transformer the function to transform the response
+     * @param callback the CompletableFuture that will handle the eventual response
+     * @return a CompletableFuture of a response
+     */
+    default <T> CompletableFuture<HttpResponse<T>> discard(HttpRequest request, Function<RawResponse, HttpResponse<T>> transformer, CompletableFuture<HttpResponse<T>> callback) {
+        return request(request, transformer, callback);
+    }
+
+    /**
+     * Download the body of a request into a file. Clients which can, write the body to the file as it arrives.
+     * Others fall back to a regular request.
+     * @param request the prepared request object
+     * @param target the file to write
+     * @param mode what to do if the file exists
+     * @param callback the CompletableFuture that will handle the eventual response
+     * @return a CompletableFuture of a response
+     */
+    default CompletableFuture<HttpResponse<File>> download(HttpRequest request, Path target, DownloadMode mode, CompletableFuture<HttpResponse<File>> callback) {
+        return request(request, r -> new FileResponse(r, target.toString(), mode), callback);
+    }
+
     /**
      * @return a stream of exceptions possibly thrown while closing all the things.
      */
@@ -26,10 +26,16 @@
 package kong.unirest;
 
 import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 abstract class BaseRequest<R extends HttpRequest> implements HttpRequest<R> {
 
@@ -138,13 +144,13 @@ abstract class BaseRequest<R extends HttpRequest> implements HttpRequest<R> {
     @Override
     public CompletableFuture<HttpResponse<Empty>> asEmptyAsync() {
         return config.getAsyncClient()
-                .request(this, EmptyResponse::new, new CompletableFuture<>());
+                .discard(this, EmptyResponse::new, new CompletableFuture<>());
     }
 
     @Override
     public CompletableFuture<HttpResponse<Empty>> asEmptyAsync(Callback<Empty> callback) {
         return config.getAsyncClient()
-                .request(this, EmptyResponse::new, CallbackFuture.wrap(callback));
+                .discard(this, EmptyResponse::new, CallbackFuture.wrap(callback));
     }
 
     @Override
@@ -164,6 +170,29 @@ abstract class BaseRequest<R extends HttpRequest> implements HttpRequest<R> {
                 .request(this, r -> new StringResponse(r, responseEncoding), CallbackFuture.wrap(callback));
     }
 
+    @Override
+    public HttpResponse<byte[]> asBytes() {
+        return config.getClient().request(this, ByteArrayResponse::new);
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<byte[]>> asBytesAsync() {
+        return config.getAsyncClient().request(this, ByteArrayResponse::new, new CompletableFuture<>());
+    }
+
+    @Override
+    public ByteBufferResponse asByteBuffer() {
+        return streamed(config.getClient()
+                .request(this, r -> new ByteBufferResponse(r, config.getBufferPool())));
+    }
+
+    @Override
+    public CompletableFuture<ByteBufferResponse> asByteBufferAsync() {
+        return config.getAsyncClient()
+                .request(this, r -> new ByteBufferResponse(r, config.getBufferPool()), new CompletableFuture<>())
+                .thenApply(BaseRequest::streamed);
+    }
+
     @Override
     public HttpResponse<JsonNode> asJson() throws UnirestException {
         return config.getClient().request(this, JsonResponse::new);
@@ -181,6 +210,18 @@ abstract class BaseRequest<R extends HttpRequest> implements HttpRequest<R> {
         return config.getAsyncClient().request(this, JsonResponse::new, CallbackFuture.wrap(callback));
     }
 
+    @Override
+    public HttpResponse<JsonPathValues> asJsonPaths(String... paths) {
+        List<JsonPath> compiled = JsonPath.compile(paths);
+        return config.getClient().request(this, r -> new JsonPathResponse(r, compiled));
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<JsonPathValues>> asJsonPathsAsync(String... paths) {
+        List<JsonPath> compiled = JsonPath.compile(paths);
+        return config.getAsyncClient().request(this, r -> new JsonPathResponse(r, compiled), new CompletableFuture<>());
+    }
+
     @Override
     public <T> HttpResponse<T> asObject(Class<? extends T> responseClass) throws UnirestException {
         return config.getClient().request(this, r -> new ObjectResponse<T>(getObjectMapper(), r, responseClass));
@@ -226,13 +267,37 @@ abstract class BaseRequest<R extends HttpRequest> implements HttpRequest<R> {
         return config.getAsyncClient().request(this, r -> new ObjectResponse<>(getObjectMapper(), r, genericType), CallbackFuture.wrap(callback));
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T, E> HttpResponseWithError<T, E> asObject(Class<? extends T> responseClass, Class<? extends E> errorClass) {
+        return (HttpResponseWithError<T, E>) config.getClient()
+                .request(this, r -> new ObjectWithErrorResponse<T, E>(getObjectMapper(), r, responseClass, errorClass));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T, E> CompletableFuture<HttpResponseWithError<T, E>> asObjectAsync(Class<? extends T> responseClass, Class<? extends E> errorClass) {
+        return config.getAsyncClient()
+                .request(this, r -> new ObjectWithErrorResponse<T, E>(getObjectMapper(), r, responseClass, errorClass), new CompletableFuture<>())
+                .thenApply(r -> (HttpResponseWithError<T, E>) r);
+    }
+
+    // streaming, pooled buffer and consumed responses have nothing to give back in place of a failure
+    @SuppressWarnings("unchecked")
+    private static <R extends HttpResponse<?>> R streamed(HttpResponse<?> response) {
+        if (response instanceof FailedResponse) {
+            throw ((FailedResponse<?>) response).rethrow();
+        }
+        return (R) response;
+    }
+
     private <T> Function<RawResponse, HttpResponse<T>> funcResponse(Function<RawResponse, T> function) {
         return r -> new BasicResponse<>(r, function.apply(r));
     }
 
     @Override
     public void thenConsume(Consumer<RawResponse> consumer) {
-        config.getClient().request(this, getConsumer(consumer));
+        streamed(config.getClient().request(this, getConsumer(consumer)));
     }
 
     @Override
@@ -247,15 +312,109 @@ abstract class BaseRequest<R extends HttpRequest> implements HttpRequest<R> {
 
     @Override
     public CompletableFuture<HttpResponse<File>> asFileAsync(String path) {
-        return config.getAsyncClient().request(this, r -> new FileResponse(r, path), new CompletableFuture<>());
+        return asFileAsync(path, DownloadMode.FAIL_IF_EXISTS);
     }
 
     @Override
     public CompletableFuture<HttpResponse<File>> asFileAsync(String path, Callback<File> callback) {
-        return config.getAsyncClient().request(this, r -> new FileResponse(r, path), CallbackFuture.wrap(callback));
+        return config.getAsyncClient().download(this, Paths.get(path), DownloadMode.FAIL_IF_EXISTS, CallbackFuture.wrap(callback));
+    }
+
+    @Override
+    public HttpResponse<File> asFile(String path, DownloadMode mode) {
+        resumeFrom(path, mode);
+        return config.getClient().request(this, r -> new FileResponse(r, path, mode));
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<File>> asFileAsync(String path, DownloadMode mode) {
+        resumeFrom(path, mode);
+        return config.getAsyncClient().download(this, Paths.get(path), mode, new CompletableFuture<>());
+    }
+
+    @Override
+    public HttpResponse<File> asFileInParallel(String path, int segments) {
+        return new SegmentedDownload(this, Paths.get(path), segments).download();
+    }
+
+    // ranges apply to the encoded body so resumed downloads ask for it as is
+    private void resumeFrom(String path, DownloadMode mode) {
+        long existing = new File(path).length();
+        if (mode == DownloadMode.RESUME && existing > 0) {
+            headerReplace("Range", "bytes=" + existing + "-");
+            if (!headers.containsKey("Accept-Encoding")) {
+                header("Accept-Encoding", "identity");
+            }
+        }
+    }
+
+
+    @Override
+    public StreamResponse<InputStream> asInputStream() {
+        return streamed(config.getClient()
+                .request(this, r -> new StreamResponse<>(r, s -> s)));
+    }
+
+    @Override
+    public CompletableFuture<StreamResponse<InputStream>> asInputStreamAsync() {
+        return config.getAsyncClient()
+                .stream(this, r -> new StreamResponse<>(r, s -> s), new CompletableFuture<>())
+                .thenApply(BaseRequest::streamed);
+    }
+
+    @Override
+    public StreamResponse<ReadableByteChannel> asChannel() {
+        return streamed(config.getClient()
+                .request(this, r -> new StreamResponse<>(r, Channels::newChannel)));
+    }
+
+    @Override
+    public CompletableFuture<StreamResponse<ReadableByteChannel>> asChannelAsync() {
+        return config.getAsyncClient()
+                .stream(this, r -> new StreamResponse<>(r, Channels::newChannel), new CompletableFuture<>())
+                .thenApply(BaseRequest::streamed);
     }
 
+    @Override
+    public <T> StreamResponse<Stream<T>> asJsonStream(Class<T> type) {
+        return streamed(config.getClient()
+                .request(this, r -> new StreamResponse<>(r, s -> ResponseStreams.json(s, r.getContentCharset(), getObjectMapper(), type))));
+    }
 
+    @Override
+    public <T> CompletableFuture<StreamResponse<Stream<T>>> asJsonStreamAsync(Class<T> type) {
+        return config.getAsyncClient()
+                .stream(this, r -> new StreamResponse<>(r, s -> ResponseStreams.json(s, r.getContentCharset(), getObjectMapper(), type)), new CompletableFuture<>())
+                .thenApply(BaseRequest::streamed);
+    }
+
+    @Override
+    public StreamResponse<Stream<String>> asLines() {
+        return streamed(config.getClient()
+                .request(this, r -> new StreamResponse<>(r, s -> ResponseStreams.lines(s, r.getContentCharset()))));
+    }
+
+    @Override
+    public CompletableFuture<StreamResponse<Stream<String>>> asLinesAsync() {
+        return config.getAsyncClient()
+                .stream(this, r -> new StreamResponse<>(r, s -> ResponseStreams.lines(s, r.getContentCharset())), new CompletableFuture<>())
+                .thenApply(BaseRequest::streamed);
+    }
+
+    @Override
+    public EventSource asEventSource(SseListener listener) {
+        return new EventSource(this, listener).start();
+    }
+
+    @Override
+    public Flow.Publisher<ServerSentEvent> asEventPublisher() {
+        return new EventPublisher(this);
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<Flow.Publisher<ByteBuffer>>> asPublisherAsync() {
+        return config.getAsyncClient().publish(this, PublisherResponse::new, new CompletableFuture<>());
+    }
 
     private Function<RawResponse, HttpResponse<Object>> getConsumer(Consumer<RawResponse> consumer) {
         return r -> {
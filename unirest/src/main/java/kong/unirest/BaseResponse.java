@@ -34,12 +34,22 @@ abstract class BaseResponse<T> implements HttpResponse<T> {
     private final Headers headers;
     private final String statusText;
     private final int statusCode;
+    private final boolean stackless;
     private Optional<UnirestParsingException> parsingerror = Optional.empty();
 
     protected BaseResponse(RawResponse response){
         headers = response.getHeaders();
         this.statusCode = response.getStatus();
         this.statusText = response.getStatusText();
+        Config config = response.getConfig();
+        this.stackless = config != null && config.isFailuresAsResponses();
+    }
+
+    BaseResponse(int statusCode, String statusText, Headers headers) {
+        this.headers = headers;
+        this.statusCode = statusCode;
+        this.statusText = statusText;
+        this.stackless = true;
     }
 
     @Override
@@ -71,7 +81,7 @@ abstract class BaseResponse<T> implements HttpResponse<T> {
     }
 
     protected void setParsingException(String originalBody, RuntimeException e) {
-        parsingerror = Optional.of(new UnirestParsingException(originalBody, e));
+        parsingerror = Optional.of(new UnirestParsingException(originalBody, e, !stackless));
     }
 
     @Override
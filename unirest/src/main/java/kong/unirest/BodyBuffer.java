@@ -0,0 +1,69 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helpers for buffered response bodies.
+ */
+final class BodyBuffer {
+
+    private BodyBuffer() {
+    }
+
+    /**
+     * Look up a charset by name without throwing for names which are illegal or not supported by this JVM.
+     * @param name the charset name, for example from a Content-Type header
+     * @param fallback the name to use when the charset is unknown, such as the configured default response encoding
+     * @return the charset, the fallback, or UTF-8 if neither are known
+     */
+    static Charset charset(String name, String fallback) {
+        Charset charset = lookup(name);
+        if (charset == null) {
+            charset = lookup(fallback);
+        }
+        return charset == null ? StandardCharsets.UTF_8 : charset;
+    }
+
+    private static Charset lookup(String name) {
+        if (name == null) {
+            return null;
+        } else if (StandardCharsets.UTF_8.name().equalsIgnoreCase(name)) {
+            return StandardCharsets.UTF_8;
+        } else if (StandardCharsets.ISO_8859_1.name().equalsIgnoreCase(name)) {
+            return StandardCharsets.ISO_8859_1;
+        } else if (StandardCharsets.US_ASCII.name().equalsIgnoreCase(name)) {
+            return StandardCharsets.US_ASCII;
+        }
+        try {
+            return Charset.isSupported(name) ? Charset.forName(name) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
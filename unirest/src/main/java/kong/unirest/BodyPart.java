@@ -25,6 +25,7 @@
 
 package kong.unirest;
 
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
 public abstract class BodyPart<T> implements Comparable { ;
@@ -66,6 +67,29 @@ public abstract class BodyPart<T> implements Comparable { ;
         return null;
     }
 
+    /**
+     * @return if the value is an InputStream which is sent as it is read, so it can only be sent once
+     */
+    public boolean isStream() {
+        return false;
+    }
+
+    /**
+     * @return the number of bytes a stream value will produce or -1 if it is unknown
+     */
+    public long getLength() {
+        return -1;
+    }
+
+    /**
+     * @param charset the charset to send the body in
+     * @return the text of a value serialized by the ObjectMapper, encoded in the charset,
+     * or null if the value was not serialized to text
+     */
+    public byte[] getBytes(Charset charset) {
+        return null;
+    }
+
     @Override
     public int compareTo(Object o) {
         if(o instanceof BodyPart){
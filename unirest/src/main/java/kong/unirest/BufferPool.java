@@ -0,0 +1,212 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of byte arrays used to read response bodies.
+ * Arrays are handed out in power of two sizes between 4k and 8mb and at most maxRetainedBytes
+ * are kept around between uses. Larger requests are allocated and garbage collected as usual.
+ */
+public class BufferPool {
+    public static final long DEFAULT_MAX_RETAINED = 32L * 1024 * 1024;
+    private static final int MIN_SHIFT = 12;
+    private static final int MAX_SHIFT = 23;
+    private static final int CHUNK_SIZE = 64 * 1024;
+    // the declared length is only a hint, the buffer grows as the body actually arrives
+    private static final int MAX_INITIAL_CAPACITY = 16 * CHUNK_SIZE;
+
+    private final List<ConcurrentLinkedDeque<byte[]>> sizes = new ArrayList<>();
+    private final AtomicLong retained = new AtomicLong();
+    private final long maxRetained;
+
+    public BufferPool() {
+        this(DEFAULT_MAX_RETAINED);
+    }
+
+    /**
+     * @param maxRetainedBytes the most bytes the pool will hold on to while they are not in use
+     */
+    public BufferPool(long maxRetainedBytes) {
+        this.maxRetained = maxRetainedBytes;
+        for (int i = MIN_SHIFT; i <= MAX_SHIFT; i++) {
+            sizes.add(new ConcurrentLinkedDeque<>());
+        }
+    }
+
+    /**
+     * Get an array of at least the minimum size. It may be larger and may contain old data.
+     * @param minimumSize the smallest acceptable size
+     * @return a byte array
+     */
+    public byte[] acquire(int minimumSize) {
+        int index = indexFor(minimumSize);
+        if (index < 0) {
+            return new byte[minimumSize];
+        }
+        byte[] pooled = sizes.get(index).pollFirst();
+        if (pooled != null) {
+            retained.addAndGet(-pooled.length);
+            return pooled;
+        }
+        return new byte[1 << (index + MIN_SHIFT)];
+    }
+
+    /**
+     * Return an array to the pool. It must not be used again by the caller.
+     * Arrays which did not come from the pool are ignored.
+     * @param buffer the array to return
+     */
+    public void release(byte[] buffer) {
+        if (buffer == null) {
+            return;
+        }
+        int index = indexFor(buffer.length);
+        if (index < 0 || buffer.length != 1 << (index + MIN_SHIFT)) {
+            return;
+        }
+        if (retained.addAndGet(buffer.length) > maxRetained) {
+            retained.addAndGet(-buffer.length);
+            return;
+        }
+        sizes.get(index).offerFirst(buffer);
+    }
+
+    /**
+     * Return the array backing a buffer handed out by readPooled
+     * @param buffer the buffer to release
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer != null && buffer.hasArray()) {
+            release(buffer.array());
+        }
+    }
+
+    /**
+     * @return the number of bytes currently held by the pool
+     */
+    public long getRetainedBytes() {
+        return retained.get();
+    }
+
+    /**
+     * Read a stream to the end into an array of exactly the right size.
+     * When the length is known the stream is read straight into the result, the array starts at no more than 1mb
+     * and grows towards the length as bytes arrive.
+     * @param in the stream to read
+     * @param length the expected number of bytes or -1 if unknown
+     * @return the bytes
+     * @throws IOException if the stream could not be read
+     */
+    public byte[] readAll(InputStream in, long length) throws IOException {
+        if (isKnown(length)) {
+            byte[] body = new byte[(int) Math.min(length, MAX_INITIAL_CAPACITY)];
+            int total = readFully(in, body, 0, body.length);
+            while (total == body.length && body.length < length) {
+                body = Arrays.copyOf(body, (int) Math.min(body.length * 2L, length));
+                total += readFully(in, body, total, body.length - total);
+            }
+            return total == body.length ? body : Arrays.copyOf(body, total);
+        }
+        List<byte[]> chunks = new ArrayList<>();
+        try {
+            int total = 0;
+            int last = CHUNK_SIZE;
+            while (last == CHUNK_SIZE) {
+                byte[] chunk = acquire(CHUNK_SIZE);
+                chunks.add(chunk);
+                last = readFully(in, chunk, 0, CHUNK_SIZE);
+                total += last;
+            }
+            byte[] body = new byte[total];
+            for (int i = 0; i < chunks.size(); i++) {
+                System.arraycopy(chunks.get(i), 0, body, i * CHUNK_SIZE, Math.min(CHUNK_SIZE, total - i * CHUNK_SIZE));
+            }
+            return body;
+        } finally {
+            chunks.forEach(this::release);
+        }
+    }
+
+    /**
+     * Read a stream to the end into a pooled array. The position of the result is 0 and the limit is the
+     * number of bytes read. Release the buffer back to the pool when done with it.
+     * @param in the stream to read
+     * @param length the expected number of bytes or -1 if unknown
+     * @return a heap ByteBuffer backed by a pooled array
+     * @throws IOException if the stream could not be read
+     */
+    public ByteBuffer readPooled(InputStream in, long length) throws IOException {
+        byte[] body = acquire(isKnown(length) ? (int) Math.min(Math.max(length, 1), MAX_INITIAL_CAPACITY) : CHUNK_SIZE);
+        int total = 0;
+        int read;
+        while ((read = in.read(body, total, body.length - total)) != -1) {
+            total += read;
+            if (total == body.length) {
+                if (isKnown(length) && total >= length) {
+                    break;
+                }
+                byte[] bigger = acquire(body.length * 2);
+                System.arraycopy(body, 0, bigger, 0, total);
+                release(body);
+                body = bigger;
+            }
+        }
+        return ByteBuffer.wrap(body, 0, total);
+    }
+
+    private boolean isKnown(long length) {
+        return length >= 0 && length < Integer.MAX_VALUE - 8;
+    }
+
+    private static int readFully(InputStream in, byte[] b, int off, int len) throws IOException {
+        int total = 0;
+        while (total < len) {
+            int read = in.read(b, off + total, len - total);
+            if (read == -1) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static int indexFor(int size) {
+        if (size > 1 << MAX_SHIFT) {
+            return -1;
+        }
+        int shift = 32 - Integer.numberOfLeadingZeros(Math.max(size, 1) - 1);
+        return Math.max(shift, MIN_SHIFT) - MIN_SHIFT;
+    }
+}
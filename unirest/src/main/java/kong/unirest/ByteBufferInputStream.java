@@ -0,0 +1,64 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A stream over the remaining bytes of a ByteBuffer, heap or direct.
+ * The position and limit of the buffer given are never changed.
+ */
+public class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer source;
+
+    /**
+     * @param buffer the bytes to read
+     */
+    public ByteBufferInputStream(ByteBuffer buffer) {
+        this.source = buffer.duplicate();
+    }
+
+    @Override
+    public int read() {
+        return source.hasRemaining() ? source.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (!source.hasRemaining()) {
+            return -1;
+        }
+        int count = Math.min(len, source.remaining());
+        source.get(b, off, count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return source.remaining();
+    }
+}
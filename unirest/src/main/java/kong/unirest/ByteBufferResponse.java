@@ -0,0 +1,55 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A response with the body read into a pooled buffer.
+ * Close the response to hand the buffer back to the pool once done with the body.
+ * The body must not be used after the response is closed.
+ */
+public class ByteBufferResponse extends BaseResponse<ByteBuffer> implements AutoCloseable {
+    private final BufferPool pool;
+    private ByteBuffer body;
+
+    ByteBufferResponse(RawResponse response, BufferPool pool) {
+        super(response);
+        this.pool = pool;
+        this.body = response.getContentAsByteBuffer();
+    }
+
+    @Override
+    public ByteBuffer getBody() {
+        return body;
+    }
+
+    @Override
+    public void close() {
+        pool.release(body);
+        body = null;
+    }
+}
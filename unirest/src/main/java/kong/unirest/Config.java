@@ -33,9 +33,14 @@ import org.apache.http.nio.client.HttpAsyncClient;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -47,6 +52,7 @@ public class Config {
     public static final int DEFAULT_MAX_PER_ROUTE = 20;
     public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
     public static final int DEFAULT_SOCKET_TIMEOUT = 60000;
+    public static final long DEFAULT_DRAIN_LIMIT = 64 * 1024;
 
     private Optional<Client> client = Optional.empty();
     private Optional<AsyncClient> asyncClient = Optional.empty();
@@ -66,6 +72,19 @@ public class Config {
     private Function<Config, AsyncClient> asyncBuilder = ApacheAsyncClient::new;
     private Function<Config, Client> clientBuilder = ApacheClient::new;
     private boolean requestCompressionOn = true;
+    private int replayBufferSize;
+    private long drainLimit;
+    private BufferPool bufferPool = new BufferPool();
+    private boolean lazyBodyDecoding;
+    private boolean mapErrorResponses;
+    private boolean failuresAsResponses;
+    private Executor asyncResponseExecutor;
+    private long spillThreshold;
+    private long maxResponseSize;
+    private List<ContentDecoder> contentDecoders;
+    private long parallelArrayThreshold;
+    private ForkJoinPool parallelDecodingPool;
+    private JsonEngine jsonEngine;
 
     public Config() {
         setDefaults();
@@ -82,6 +101,18 @@ public class Config {
         followRedirects = true;
         cookieManagement = true;
         requestCompressionOn = true;
+        replayBufferSize = 0;
+        drainLimit = DEFAULT_DRAIN_LIMIT;
+        lazyBodyDecoding = false;
+        mapErrorResponses = true;
+        failuresAsResponses = false;
+        asyncResponseExecutor = null;
+        spillThreshold = 0;
+        maxResponseSize = 0;
+        contentDecoders = new CopyOnWriteArrayList<>(Arrays.asList(ContentDecoder.gzip(), ContentDecoder.deflate()));
+        parallelArrayThreshold = 0;
+        parallelDecodingPool = null;
+        jsonEngine = new OrgJsonEngine();
     }
 
     /**
@@ -330,7 +361,22 @@ public class Config {
     }
 
     /**
-     * Turn on or off requesting all content as compressed. (GZIP encoded)
+     * Register a decoder for a content encoding, replacing any already registered for it.
+     * Registered decoders are listed (with their q-values) in the Accept-Encoding of every request
+     * and used to decode responses. gzip and deflate are registered by default.
+     *
+     * @param decoder the decoder
+     * @return this config object
+     */
+    public Config addContentDecoder(ContentDecoder decoder) {
+        Objects.requireNonNull(decoder, "ContentDecoder cannot be null");
+        contentDecoders.removeIf(d -> d.getEncoding().equals(decoder.getEncoding()));
+        contentDecoders.add(decoder);
+        return this;
+    }
+
+    /**
+     * Turn on or off requesting all content as compressed. (with the registered content decoders)
      * Default is true
      *
      * @param value a bool is its true or not.
@@ -341,6 +387,179 @@ public class Config {
         return this;
     }
 
+    /**
+     * Make streaming request bodies (like body(InputStream)) replayable so they can be resent
+     * on redirects, auth challenges and retries. As the body is sent it is copied into a replay buffer
+     * which keeps up to inMemoryBytes in memory and spills the rest into a temp file.
+     * The temp file is removed once the request is complete.
+     * Default is 0 (off), in which case streaming bodies can only be sent once.
+     *
+     * @param inMemoryBytes the number of bytes to keep in memory before spilling to disk
+     * @return this config object
+     */
+    public Config requestBodyReplayBuffer(int inMemoryBytes) {
+        this.replayBufferSize = inMemoryBytes;
+        return this;
+    }
+
+    /**
+     * When a streamed response is closed before the body is read to the end the rest of the body is either
+     * read and discarded (drained) so the connection can go back to the pool, or the connection is aborted.
+     * Bodies with at most this many bytes remaining are drained. Larger bodies, or bodies of unknown length are aborted.
+     * The bodies of asEmpty responses, which are never read, are drained or aborted the same way.
+     * Default is 64k
+     *
+     * @param bytes the maximum number of remaining bytes to drain
+     * @return this config object
+     */
+    public Config responseDrainLimit(long bytes) {
+        this.drainLimit = bytes;
+        return this;
+    }
+
+    /**
+     * Set the pool that response bodies are read through.
+     * Default is a pool which retains at most 32mb between uses
+     *
+     * @param pool the BufferPool
+     * @return this config object
+     */
+    public Config bufferPool(BufferPool pool) {
+        Objects.requireNonNull(pool, "BufferPool cannot be null");
+        this.bufferPool = pool;
+        return this;
+    }
+
+    /**
+     * Keep the raw bytes of asJson and asObject responses and only map them the first time
+     * getBody or getParsingError is called. Bodies which are never looked at are never parsed.
+     * Default is false
+     *
+     * @param lazy should bodies be mapped on first use
+     * @return this config object
+     */
+    public Config lazyBodyDecoding(boolean lazy) {
+        this.lazyBodyDecoding = lazy;
+        return this;
+    }
+
+    /**
+     * Should asJson and asObject map the body of non 2xx responses.
+     * When false the body of those responses is null and the original content
+     * is kept as getRawBody and getRawBodyAsString instead.
+     * Default is true
+     *
+     * @param map should error responses be mapped
+     * @return this config object
+     */
+    public Config mapErrorResponses(boolean map) {
+        this.mapErrorResponses = map;
+        return this;
+    }
+
+    /**
+     * Return failures as responses instead of throwing or completing futures exceptionally.
+     * Requests which get no response (refused connections, timeouts, resets, cancellations...) return
+     * a FailedResponse with a status of 0 and a FailureCause, for both the sync and async clients.
+     * Parsing errors are made without stack traces. This saves a great deal of work when a service is down
+     * and every request fails. Streaming responses (asInputStream, asJsonStream...) still throw.
+     * Default is false
+     *
+     * @param asResponses should failures be returned as responses
+     * @return this config object
+     */
+    public Config failuresAsResponses(boolean asResponses) {
+        this.failuresAsResponses = asResponses;
+        return this;
+    }
+
+    /**
+     * Decode large JSON arrays in parallel when mapping asJson, or asObject to an array, List or Collection.
+     * The body is scanned for the boundaries of its top level elements and the elements are mapped on
+     * the parallel decoding pool, keeping their order. Objects, smaller arrays and bodies not in UTF-8, US-ASCII or
+     * ISO-8859-1 are decoded as usual, as is everything when the pool has a single thread.
+     * It pays off for bodies in the megabytes on a machine with several cores.
+     * The ObjectMapper must be safe to call from several threads at once.
+     * Default is 0 which is off
+     *
+     * @param minSize the smallest body, in bytes, to decode in parallel. 0 for never
+     * @return this config object
+     */
+    public Config parallelArrayDecoding(long minSize) {
+        this.parallelArrayThreshold = minSize;
+        return this;
+    }
+
+    /**
+     * The fork/join pool used by parallelArrayDecoding.
+     * Default is null which uses the common pool
+     *
+     * @param pool the pool or null for the common pool
+     * @return this config object
+     */
+    public Config parallelDecodingPool(ForkJoinPool pool) {
+        this.parallelDecodingPool = pool;
+        return this;
+    }
+
+    /**
+     * The JsonEngine which parses asJson bodies into JsonNodes and writes JSON PATCH documents.
+     * Trees from engines other than org.json are only converted when JsonNode::getObject or JsonNode::getArray are called.
+     * Default is the org.json engine
+     *
+     * @param engine the engine or null for the default
+     * @return this config object
+     */
+    public Config jsonEngine(JsonEngine engine) {
+        this.jsonEngine = engine == null ? new OrgJsonEngine() : engine;
+        return this;
+    }
+
+    /**
+     * Run the transformation of async responses (mapping to Json, objects, files...) and the callbacks
+     * on this executor rather than on the I/O dispatcher thread which received the response.
+     * A slow mapping on the dispatcher holds up every other connection it serves.
+     * On Java 21 Executors.newVirtualThreadPerTaskExecutor() is a good fit.
+     * The default is null which runs them inline on the dispatcher. That is fine when responses are small and cheap to map.
+     * The executor is not shut down by Unirest.
+     *
+     * @param executor the executor or null to run inline
+     * @return this config object
+     */
+    public Config asyncResponseExecutor(Executor executor) {
+        this.asyncResponseExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Buffered response bodies larger than this are written to a temp file and memory mapped rather than
+     * held on the heap. asByteBuffer returns the mapped buffer directly and asJson, asObject and asString
+     * decode from it. The temp file is deleted as soon as it is mapped.
+     * Default is 0 which keeps every body on the heap
+     *
+     * @param bytes the largest body to keep on the heap, or 0 to never spill
+     * @return this config object
+     */
+    public Config responseSpillThreshold(long bytes) {
+        this.spillThreshold = bytes;
+        return this;
+    }
+
+    /**
+     * The largest response body that will be buffered. Bodies declaring a larger Content-Length fail before
+     * anything is read, others fail as soon as they pass it. Either way the connection is aborted and
+     * a ResponseTooLargeException is thrown (or completes the future for async requests).
+     * Streamed responses (asObject(Function), thenConsume, asPublisherAsync, downloads) are not limited.
+     * Default is 0 which is no limit
+     *
+     * @param bytes the maximum body size, or 0 for no limit
+     * @return this config object
+     */
+    public Config maxResponseSize(long bytes) {
+        this.maxResponseSize = bytes;
+        return this;
+    }
+
     /**
      * Set the default encoding that will be used for serialization into Strings.
      * The default-default is UTF-8
@@ -516,4 +735,103 @@ public class Config {
     public boolean isRequestCompressionOn() {
         return requestCompressionOn;
     }
+
+    /**
+     * @return the in memory size of the replay buffer for streaming request bodies. 0 means they are not replayable
+     */
+    public int getRequestBodyReplayBuffer() {
+        return replayBufferSize;
+    }
+
+    /**
+     * @return the maximum number of remaining bytes that will be drained when a streamed response is closed early
+     */
+    public long getResponseDrainLimit() {
+        return drainLimit;
+    }
+
+    /**
+     * @return the pool response bodies are read through
+     */
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    /**
+     * @return if asJson and asObject bodies are mapped on first use
+     */
+    public boolean isLazyBodyDecoding() {
+        return lazyBodyDecoding;
+    }
+
+    /**
+     * @return if asJson and asObject map the body of non 2xx responses
+     */
+    public boolean isMappingErrorResponses() {
+        return mapErrorResponses;
+    }
+
+    /**
+     * @return if failures are returned as responses with a status of 0
+     */
+    public boolean isFailuresAsResponses() {
+        return failuresAsResponses;
+    }
+
+    /**
+     * @return the executor async responses are transformed on or null if they are transformed inline
+     */
+    public Executor getAsyncResponseExecutor() {
+        return asyncResponseExecutor;
+    }
+
+    /**
+     * @return the largest response body kept on the heap before it spills to a mapped temp file. 0 means never
+     */
+    public long getResponseSpillThreshold() {
+        return spillThreshold;
+    }
+
+    /**
+     * @return the largest response body that will be buffered. 0 means no limit
+     */
+    public long getMaxResponseSize() {
+        return maxResponseSize;
+    }
+
+    /**
+     * @return the registered content decoders, in the order they are advertised
+     */
+    public List<ContentDecoder> getContentDecoders() {
+        return Collections.unmodifiableList(contentDecoders);
+    }
+
+    /**
+     * @param encoding a Content-Encoding header value
+     * @return the decoder for it if there is one
+     */
+    public Optional<ContentDecoder> getContentDecoder(String encoding) {
+        return contentDecoders.stream().filter(d -> d.handles(encoding)).findFirst();
+    }
+
+    /**
+     * @return the smallest body decoded in parallel, 0 for never
+     */
+    public long getParallelArrayThreshold() {
+        return parallelArrayThreshold;
+    }
+
+    /**
+     * @return the pool for parallel array decoding
+     */
+    public ForkJoinPool getParallelDecodingPool() {
+        return parallelDecodingPool == null ? ForkJoinPool.commonPool() : parallelDecodingPool;
+    }
+
+    /**
+     * @return the engine for JsonNodes and JSON PATCH documents
+     */
+    public JsonEngine getJsonEngine() {
+        return jsonEngine;
+    }
 }
@@ -0,0 +1,124 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+
+/**
+ * Decodes response content for one Content-Encoding. Decoders registered on the Config are advertised in
+ * the Accept-Encoding header of every request and used for any response with a matching encoding,
+ * for both the sync and async clients.
+ * gzip and deflate are built in. Others (like br or zstd) can be added with a library which provides a decoding InputStream
+ */
+public class ContentDecoder {
+    private final String encoding;
+    private final double quality;
+    private final Decoder decoder;
+
+    /**
+     * @param encoding the content coding, as it appears in Content-Encoding. e.g. "br"
+     * @param quality the q-value to advertise in Accept-Encoding, from 0 to 1. Lower values are less preferred
+     * @param decoder wraps the encoded content in a stream of the decoded content
+     */
+    public ContentDecoder(String encoding, double quality, Decoder decoder) {
+        if (quality < 0 || quality > 1) {
+            throw new IllegalArgumentException("Quality must be between 0 and 1");
+        }
+        this.encoding = encoding.trim().toLowerCase(Locale.ROOT);
+        this.quality = quality;
+        this.decoder = decoder;
+    }
+
+    /**
+     * @return a gzip decoder which inflates with pooled Inflaters
+     */
+    public static ContentDecoder gzip() {
+        return new ContentDecoder("gzip", 1, InflatingInputStream::gzip);
+    }
+
+    /**
+     * @return a deflate decoder for both zlib wrapped and raw deflate content, which inflates with pooled Inflaters
+     */
+    public static ContentDecoder deflate() {
+        return new ContentDecoder("deflate", 1, InflatingInputStream::deflate);
+    }
+
+    /**
+     * @return the content coding, in lower case
+     */
+    public String getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * @return the q-value advertised in Accept-Encoding
+     */
+    public double getQuality() {
+        return quality;
+    }
+
+    /**
+     * @param coding a content coding from a Content-Encoding header
+     * @return true if this decoder handles it. x-gzip is treated as gzip
+     */
+    public boolean handles(String coding) {
+        String value = coding.trim().toLowerCase(Locale.ROOT);
+        return encoding.equals(value) || ("x-" + encoding).equals(value);
+    }
+
+    /**
+     * @param encoded the encoded content
+     * @return the decoded content
+     * @throws IOException if the decoder can't be started
+     */
+    public InputStream decode(InputStream encoded) throws IOException {
+        return decoder.decode(encoded);
+    }
+
+    /**
+     * @return this decoder as it appears in Accept-Encoding
+     */
+    @Override
+    public String toString() {
+        if (quality == 1) {
+            return encoding;
+        }
+        return encoding + ";q=" + BigDecimal.valueOf(quality).setScale(3, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Wraps encoded content in a stream of decoded content. Most decoding InputStream constructors fit,
+     * e.g. BrotliInputStream::new
+     */
+    @FunctionalInterface
+    public interface Decoder {
+        InputStream decode(InputStream encoded) throws IOException;
+    }
+}
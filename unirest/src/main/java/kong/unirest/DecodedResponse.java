@@ -0,0 +1,145 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * A response mapped from the content by a decoder.
+ * Depending on the config the body is mapped right away, kept and mapped on first use,
+ * or kept and not mapped at all for error responses.
+ */
+abstract class DecodedResponse<T> extends BaseResponse<T> {
+    private final BufferDecoder<T> decoder;
+    private final Charset charset;
+    private final boolean mapped;
+    private byte[] raw;
+    private boolean decoded;
+    private T body;
+
+    DecodedResponse(RawResponse response, T empty, BufferDecoder<T> decoder) {
+        this(response, empty, decoder, response.getConfig().isMappingErrorResponses());
+    }
+
+    DecodedResponse(RawResponse response, T empty, BufferDecoder<T> decoder, boolean mapErrors) {
+        super(response);
+        this.decoder = decoder;
+        Config config = response.getConfig();
+        this.mapped = mapErrors || (getStatus() >= 200 && getStatus() < 300);
+        if (!response.hasContent()) {
+            this.charset = null;
+            this.body = empty;
+            this.decoded = true;
+            return;
+        }
+        this.charset = response.getContentCharset();
+        if (mapped && !config.isLazyBodyDecoding()) {
+            decodePooled(response, config.getBufferPool());
+        } else {
+            raw = response.getContentAsBytes();
+        }
+    }
+
+    private void decodePooled(RawResponse response, BufferPool pool) {
+        ByteBuffer b = response.getContentAsByteBuffer();
+        try {
+            decode(b);
+        } finally {
+            pool.release(b);
+        }
+    }
+
+    private void decode(ByteBuffer bytes) {
+        decoded = true;
+        try {
+            body = decoder.decode(bytes, charset);
+        } catch (RuntimeException e) {
+            // the text is only decoded when there is an error to report
+            setParsingException(charset.decode(bytes.duplicate()).toString(), e);
+        }
+    }
+
+    private synchronized void ensureDecoded() {
+        if (!decoded && mapped) {
+            decode(ByteBuffer.wrap(raw));
+        }
+    }
+
+    /**
+     * @param decoder a decoder which reads the body as a stream
+     * @return a decoder for a buffered body
+     */
+    static <T> BufferDecoder<T> streaming(BiFunction<InputStream, Charset, T> decoder) {
+        return (bytes, charset) -> decoder.apply(stream(bytes), charset);
+    }
+
+    /**
+     * @param bytes a buffered body
+     * @return a stream over the remaining bytes of the buffer
+     */
+    static InputStream stream(ByteBuffer bytes) {
+        // spilled bodies are memory mapped rather than backed by an array
+        return bytes.hasArray()
+                ? new ByteArrayInputStream(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining())
+                : new ByteBufferInputStream(bytes);
+    }
+
+    @Override
+    public T getBody() {
+        ensureDecoded();
+        return body;
+    }
+
+    @Override
+    public Optional<UnirestParsingException> getParsingError() {
+        ensureDecoded();
+        return super.getParsingError();
+    }
+
+    @Override
+    public byte[] getRawBody() {
+        return raw;
+    }
+
+    @Override
+    public String getRawBodyAsString() {
+        return raw == null ? null : new String(raw, charset);
+    }
+
+    /**
+     * Maps the buffered body of a response
+     * @param <T> the type of the body
+     */
+    @FunctionalInterface
+    interface BufferDecoder<T> {
+        T decode(ByteBuffer bytes, Charset charset);
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * What to do with a file which already exists when downloading with asFile
+ */
+public enum DownloadMode {
+    /**
+     * Fail the download. This is the default
+     */
+    FAIL_IF_EXISTS,
+    /**
+     * Replace the contents of the file
+     */
+    OVERWRITE,
+    /**
+     * Write the body after the current end of the file. Bodies of responses without a 2xx status are not written
+     */
+    APPEND,
+    /**
+     * Continue a partial download. When the file exists only the remaining part is asked for with a Range header
+     * and added to the end of it. If the server ignores the range and sends the whole body the file is replaced.
+     * A partial response whose Content-Range doesn't start at the end of the file fails the download.
+     * Any status other than 2xx, such as a 416 (Range Not Satisfiable) for a file which is already complete,
+     * leaves the file alone.
+     */
+    RESUME;
+
+    /**
+     * @param status the status of the response
+     * @return if the body should be added to the end of the file
+     */
+    public boolean appends(int status) {
+        return this == APPEND || (this == RESUME && status == 206);
+    }
+
+    /**
+     * @param status the status of the response
+     * @return if the body should be written to the file. Appending and resuming only write successful responses
+     * so error pages don't end up in the middle of the file
+     */
+    public boolean writes(int status) {
+        return (this != APPEND && this != RESUME) || (status >= 200 && status < 300);
+    }
+
+    /**
+     * @param status the status of the response
+     * @param contentRange the Content-Range of the response
+     * @param existing the current length of the file
+     * @return if the body can be written. A resumed partial response is only added to the end of the file
+     * when its range starts exactly there, anything else would leave a gap or repeat bytes
+     */
+    public boolean continues(int status, String contentRange, long existing) {
+        if (this != RESUME || status != 206) {
+            return true;
+        }
+        String range = contentRange == null ? "" : contentRange.trim();
+        int dash = range.indexOf('-');
+        if (!range.startsWith("bytes ") || dash < 0) {
+            return false;
+        }
+        try {
+            return Long.parseLong(range.substring("bytes ".length(), dash).trim()) == existing;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param status the status of the response
+     * @return the options to open the file with. Appending files are not truncated
+     * but it's up to the caller to start writing at the end of the file.
+     */
+    public Set<StandardOpenOption> openOptions(int status) {
+        if (this == FAIL_IF_EXISTS) {
+            return EnumSet.of(StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } else if (appends(status)) {
+            return EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        }
+        return EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+}
@@ -28,6 +28,7 @@ package kong.unirest;
 class EmptyResponse extends BaseResponse<Empty> {
     EmptyResponse(RawResponse response) {
         super(response);
+        response.discardContent();
     }
 
     @Override
@@ -0,0 +1,118 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+/**
+ * Publishes the events of a text/event-stream. Each subscriber gets its own EventSource.
+ * The reading thread waits while the subscriber has no outstanding demand,
+ * so nothing more is read from the connection until more events are requested.
+ */
+class EventPublisher implements Flow.Publisher<ServerSentEvent> {
+    private final BaseRequest<?> request;
+
+    EventPublisher(BaseRequest<?> request) {
+        this.request = request;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ServerSentEvent> subscriber) {
+        EventSubscription subscription = new EventSubscription(subscriber);
+        subscription.source = new EventSource(request, subscription);
+        subscriber.onSubscribe(subscription);
+        subscription.source.start();
+    }
+
+    private static class EventSubscription implements Flow.Subscription, SseListener {
+        private final Flow.Subscriber<? super ServerSentEvent> subscriber;
+        private EventSource source;
+        private long demand;
+        private boolean cancelled;
+        private Throwable rejected;
+
+        EventSubscription(Flow.Subscriber<? super ServerSentEvent> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public synchronized void request(long n) {
+            if (n <= 0) {
+                rejected = new IllegalArgumentException("Subscriptions must request a positive number of items");
+                cancel();
+                return;
+            }
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            notifyAll();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                notifyAll();
+            }
+            source.close();
+        }
+
+        @Override
+        public void onEvent(ServerSentEvent event) {
+            if (awaitDemand()) {
+                subscriber.onNext(event);
+            }
+        }
+
+        private synchronized boolean awaitDemand() {
+            try {
+                while (demand == 0 && !cancelled) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            if (cancelled) {
+                return false;
+            }
+            demand--;
+            return true;
+        }
+
+        @Override
+        public void onClosed(Throwable cause) {
+            Throwable error;
+            synchronized (this) {
+                if (cancelled && rejected == null) {
+                    return;
+                }
+                error = rejected != null ? rejected : cause;
+            }
+            if (error != null) {
+                subscriber.onError(error);
+            } else {
+                subscriber.onComplete();
+            }
+        }
+    }
+}
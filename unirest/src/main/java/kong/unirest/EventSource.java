@@ -0,0 +1,177 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A connection to a text/event-stream which dispatches each event to a listener as it is parsed.
+ * The stream is read on its own thread using the async client's streaming responses.
+ * When the connection drops the source reconnects after the retry delay (which the server may change)
+ * sending the Last-Event-ID header so the server can pick up where it left off.
+ * It stops when closed, when the server responds with 204 No Content, or when the server
+ * responds with a error status or something other than a event stream.
+ */
+public class EventSource implements AutoCloseable {
+    static final long DEFAULT_RETRY = 3000;
+    private final BaseRequest<?> request;
+    private final SseListener listener;
+    private final EventStreamParser parser;
+    private final Thread thread;
+    private volatile long retry = DEFAULT_RETRY;
+    private volatile boolean closed;
+    private volatile StreamResponse<InputStream> current;
+
+    EventSource(BaseRequest<?> request, SseListener listener) {
+        this.request = copy(request);
+        this.listener = listener;
+        this.parser = new EventStreamParser(listener::onEvent, millis -> retry = millis);
+        this.thread = new Thread(this::run, "unirest-event-source");
+        this.thread.setDaemon(true);
+        if (!this.request.getHeaders().containsKey(HeaderNames.ACCEPT)) {
+            this.request.header(HeaderNames.ACCEPT, "text/event-stream");
+        }
+        this.request.headerReplace(HeaderNames.CACHE_CONTROL, "no-cache");
+    }
+
+    // headers are set on a copy so they don't leak into the caller's request or other sources made from it
+    private static BaseRequest<?> copy(BaseRequest<?> request) {
+        return new HttpRequestNoBody(request, request.getHttpMethod()) {
+            @Override
+            public Optional<Body> getBody() {
+                return request.getBody();
+            }
+        };
+    }
+
+    EventSource start() {
+        thread.start();
+        return this;
+    }
+
+    private void run() {
+        Throwable cause = null;
+        try {
+            while (!closed) {
+                cause = connect();
+                if (cause != null || closed) {
+                    break;
+                }
+                Thread.sleep(retry);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closed = true;
+            listener.onClosed(cause);
+        }
+    }
+
+    // returns the reason to give up on the stream, or null to reconnect (or stop if closed)
+    private Throwable connect() throws InterruptedException {
+        parser.reset();
+        if (!parser.getLastEventId().isEmpty()) {
+            request.headerReplace("Last-Event-ID", parser.getLastEventId());
+        }
+        CompletableFuture<StreamResponse<InputStream>> future = request.asInputStreamAsync();
+        try (StreamResponse<InputStream> response = future.get()) {
+            current = response;
+            if (closed) {
+                return null;
+            }
+            if (response.getStatus() == 204) {
+                closed = true;
+                return null;
+            }
+            if (!response.isSuccess() || !isEventStream(response)) {
+                return new UnirestException("Expected a text/event-stream but got a " + response.getStatus()
+                        + " with a Content-Type of " + response.getHeaders().getFirst(HeaderNames.CONTENT_TYPE));
+            }
+            parser.read(response.getBody());
+        } catch (InterruptedException e) {
+            future.thenAccept(StreamResponse::close);
+            throw e;
+        } catch (ExecutionException e) {
+            failed(e.getCause());
+        } catch (Exception e) {
+            failed(e);
+        } finally {
+            current = null;
+        }
+        return null;
+    }
+
+    private void failed(Throwable e) {
+        if (!closed) {
+            listener.onError(e);
+        }
+    }
+
+    private static boolean isEventStream(HttpResponse<?> response) {
+        return response.getHeaders().getFirst(HeaderNames.CONTENT_TYPE).toLowerCase().startsWith("text/event-stream");
+    }
+
+    /**
+     * @return the id of the last event received, which is sent with the next reconnection. Empty if there hasn't been one
+     */
+    public String getLastEventId() {
+        return parser.getLastEventId();
+    }
+
+    /**
+     * @return the current delay before reconnecting, in milliseconds
+     */
+    public long getRetry() {
+        return retry;
+    }
+
+    /**
+     * @return true until the source has stopped for good
+     */
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    /**
+     * Stop the source, closing the connection if there is one. The listener's onClosed is called once it has stopped.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        StreamResponse<InputStream> response = current;
+        if (response != null) {
+            try {
+                response.close();
+            } catch (RuntimeException e) {
+                // the reading thread sees the stream is gone and stops
+            }
+        }
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,210 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Parses a text/event-stream incrementally from the raw bytes.
+ * Lines are collected into a reused buffer and field names are matched as bytes,
+ * so the only Strings made are the parts of each event which are dispatched.
+ */
+class EventStreamParser {
+    private static final byte[] DATA = "data".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EVENT = "event".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ID = "id".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RETRY = "retry".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NEWLINE = {'\n'};
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private final Consumer<ServerSentEvent> events;
+    private final LongConsumer retry;
+    private byte[] line = new byte[256];
+    private int lineLength;
+    private byte[] data = new byte[256];
+    private int dataLength;
+    private String eventType = "";
+    private String lastEventId = "";
+    private boolean afterCr;
+    private boolean firstLine = true;
+
+    EventStreamParser(Consumer<ServerSentEvent> events, LongConsumer retry) {
+        this.events = events;
+        this.retry = retry;
+    }
+
+    void read(InputStream in) throws IOException {
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            feed(buffer, 0, read);
+        }
+    }
+
+    void feed(byte[] bytes, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        while (i < end) {
+            if (afterCr && bytes[i] == '\n') {
+                i++;
+            }
+            afterCr = false;
+            int start = i;
+            while (i < end && bytes[i] != '\n' && bytes[i] != '\r') {
+                i++;
+            }
+            line = append(line, lineLength, bytes, start, i - start);
+            lineLength += i - start;
+            if (i < end) {
+                afterCr = bytes[i] == '\r';
+                i++;
+                processLine();
+                lineLength = 0;
+            }
+        }
+    }
+
+    /**
+     * Forget any partly received event, as when the connection is lost. The last event id is kept.
+     */
+    void reset() {
+        lineLength = 0;
+        dataLength = 0;
+        eventType = "";
+        afterCr = false;
+        firstLine = true;
+    }
+
+    String getLastEventId() {
+        return lastEventId;
+    }
+
+    private void processLine() {
+        int start = firstLine && startsWith(BOM, 0) ? BOM.length : 0;
+        firstLine = false;
+        if (lineLength == start) {
+            dispatch();
+            return;
+        }
+        if (line[start] == ':') {
+            return;
+        }
+        int colon = start;
+        while (colon < lineLength && line[colon] != ':') {
+            colon++;
+        }
+        int value = colon < lineLength ? colon + 1 : colon;
+        if (value < lineLength && line[value] == ' ') {
+            value++;
+        }
+        field(start, colon, value);
+    }
+
+    private void field(int start, int nameEnd, int value) {
+        if (isField(DATA, start, nameEnd)) {
+            data = append(data, dataLength, line, value, lineLength - value);
+            dataLength += lineLength - value;
+            data = append(data, dataLength, NEWLINE, 0, 1);
+            dataLength++;
+        } else if (isField(EVENT, start, nameEnd)) {
+            eventType = text(value);
+        } else if (isField(ID, start, nameEnd)) {
+            if (indexOfNul(value) < 0) {
+                lastEventId = text(value);
+            }
+        } else if (isField(RETRY, start, nameEnd)) {
+            retry(value);
+        }
+    }
+
+    private void retry(int value) {
+        if (value == lineLength) {
+            return;
+        }
+        long millis = 0;
+        for (int i = value; i < lineLength; i++) {
+            if (line[i] < '0' || line[i] > '9') {
+                return;
+            }
+            millis = millis * 10 + (line[i] - '0');
+        }
+        retry.accept(millis);
+    }
+
+    private void dispatch() {
+        if (dataLength == 0) {
+            eventType = "";
+            return;
+        }
+        String body = new String(data, 0, dataLength - 1, StandardCharsets.UTF_8);
+        ServerSentEvent event = new ServerSentEvent(lastEventId, eventType.isEmpty() ? "message" : eventType, body);
+        dataLength = 0;
+        eventType = "";
+        events.accept(event);
+    }
+
+    private boolean isField(byte[] name, int start, int end) {
+        return end - start == name.length && startsWith(name, start);
+    }
+
+    private boolean startsWith(byte[] prefix, int start) {
+        if (lineLength - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (line[start + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOfNul(int from) {
+        for (int i = from; i < lineLength; i++) {
+            if (line[i] == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String text(int from) {
+        return new String(line, from, lineLength - from, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] append(byte[] target, int length, byte[] source, int offset, int count) {
+        byte[] result = target;
+        if (length + count > target.length) {
+            result = new byte[Math.max(target.length * 2, length + count)];
+            System.arraycopy(target, 0, result, 0, length);
+        }
+        System.arraycopy(source, offset, result, length, count);
+        return result;
+    }
+}
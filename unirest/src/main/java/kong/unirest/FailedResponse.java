@@ -0,0 +1,98 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.util.Optional;
+
+/**
+ * Stands in for the response of a request which failed before a response was received, when
+ * Config::failuresAsResponses is on. It has a status of 0, no headers and no body.
+ * @param <T> the body type the request asked for
+ */
+public class FailedResponse<T> extends BaseResponse<T> implements HttpResponseWithError<T, Object> {
+    private static final UnirestException CANCELLED = new UnirestException("canceled", null, false);
+
+    private final FailureCause cause;
+    private final Throwable failure;
+
+    /**
+     * @param failure the exception behind the failure. It is kept as is rather than wrapped
+     */
+    public FailedResponse(Throwable failure) {
+        this(FailureCause.of(failure), failure);
+    }
+
+    private FailedResponse(FailureCause cause, Throwable failure) {
+        super(0, "", new Headers());
+        this.cause = cause;
+        this.failure = failure;
+    }
+
+    /**
+     * @param <T> the body type the request asked for
+     * @return a response for a cancelled request. They share one exception without a stack trace
+     */
+    public static <T> FailedResponse<T> cancelled() {
+        return new FailedResponse<>(FailureCause.CANCELLED, CANCELLED);
+    }
+
+    @Override
+    public T getBody() {
+        return null;
+    }
+
+    @Override
+    public Object getErrorBody() {
+        return null;
+    }
+
+    @Override
+    public Optional<FailureCause> getFailureCause() {
+        return Optional.of(cause);
+    }
+
+    @Override
+    public Optional<Throwable> getFailure() {
+        return Optional.of(failure);
+    }
+
+    /**
+     * Throw the failure for callers which can't return it, such as streaming responses.
+     * Unchecked exceptions are thrown as they are, checked ones wrapped in a UnirestException
+     * @return nothing, it always throws
+     */
+    public RuntimeException rethrow() {
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        throw new UnirestException(failure);
+    }
+
+    @Override
+    public String toString() {
+        return "FailedResponse{" + cause + ": " + failure + "}";
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Why a request got no response. See Config::failuresAsResponses
+ */
+public enum FailureCause {
+    /**
+     * The host name could not be resolved
+     */
+    UNKNOWN_HOST,
+    /**
+     * The connection was refused or no route to the host was found
+     */
+    CONNECTION_FAILED,
+    /**
+     * Connecting, leasing a pooled connection or waiting for data timed out
+     */
+    TIMEOUT,
+    /**
+     * The TLS handshake or session failed
+     */
+    TLS,
+    /**
+     * The body was larger than Config::maxResponseSize
+     */
+    RESPONSE_TOO_LARGE,
+    /**
+     * The request was cancelled
+     */
+    CANCELLED,
+    /**
+     * Any other I/O failure, such as the connection being reset or closed early
+     */
+    IO,
+    /**
+     * Anything else, such as an exception while transforming the response
+     */
+    OTHER;
+
+    /**
+     * @param failure an exception and its causes
+     * @return the most specific cause found in the chain
+     */
+    public static FailureCause of(Throwable failure) {
+        FailureCause fallback = OTHER;
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            FailureCause cause = classify(t);
+            if (cause != null) {
+                return cause;
+            } else if (t instanceof IOException) {
+                fallback = IO;
+            }
+        }
+        return fallback;
+    }
+
+    private static FailureCause classify(Throwable t) {
+        if (t instanceof UnknownHostException) {
+            return UNKNOWN_HOST;
+        } else if (t instanceof InterruptedIOException) {
+            return TIMEOUT;
+        } else if (t instanceof ConnectException || t instanceof NoRouteToHostException) {
+            return CONNECTION_FAILED;
+        } else if (t instanceof SSLException) {
+            return TLS;
+        } else if (t instanceof ResponseTooLargeException) {
+            return RESPONSE_TOO_LARGE;
+        } else if (t instanceof CancellationException) {
+            return CANCELLED;
+        }
+        return null;
+    }
+}
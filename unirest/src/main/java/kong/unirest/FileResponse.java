@@ -27,9 +27,14 @@ package kong.unirest;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
 
 public class FileResponse extends BaseResponse<File> {
     private File body;
@@ -45,6 +50,49 @@ public class FileResponse extends BaseResponse<File> {
         }
     }
 
+    public FileResponse(RawResponse r, String path, DownloadMode mode) {
+        super(r);
+        Path target = Paths.get(path);
+        body = target.toFile();
+        if (!mode.writes(r.getStatus())) {
+            return;
+        }
+        String range = r.getHeaders().getFirst("Content-Range");
+        if (!mode.continues(r.getStatus(), range, body.length())) {
+            throw new UnirestException("Can't resume " + path + " from byte " + body.length()
+                    + " with a Content-Range of '" + range + "'");
+        }
+        Set<StandardOpenOption> options = mode.openOptions(r.getStatus());
+        if (mode.appends(r.getStatus())) {
+            options.add(StandardOpenOption.APPEND);
+        }
+        try (InputStream in = r.getContent();
+             OutputStream out = Files.newOutputStream(target, options.toArray(new OpenOption[0]))) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    /**
+     * A response for a body which has already been written to a file
+     * @param r the response
+     * @param body the file
+     */
+    public FileResponse(RawResponse r, File body) {
+        super(r);
+        this.body = body;
+    }
+
+    FileResponse(int status, String statusText, Headers headers, File body) {
+        super(status, statusText, headers);
+        this.body = body;
+    }
+
     @Override
     public File getBody() {
         return body;
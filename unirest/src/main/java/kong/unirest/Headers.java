@@ -27,6 +27,7 @@ package kong.unirest;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
@@ -37,12 +38,25 @@ import static java.util.stream.Collectors.toSet;
 public class Headers {
 
     private static final long serialVersionUID = 71310341388734766L;
-    private List<Header> headers = new ArrayList<>();
+    private List<Header> headers;
+    private Supplier<List<? extends Header>> source;
+    private List<Header> view;
 
     public Headers() {
+        headers = new ArrayList<>();
+    }
+
+    /**
+     * Headers backed by a read only view which is only fetched the first time the headers are looked at.
+     * It is copied the first time they are changed. all() returns the read only view until then.
+     * @param source a supplier of the view
+     */
+    public Headers(Supplier<List<? extends Header>> source) {
+        this.source = source;
     }
 
     public Headers(Collection<Entry> entries) {
+        this();
         entries.forEach(e -> add(e.name, e.value));
     }
 
@@ -62,7 +76,7 @@ public class Headers {
      */
     public void add(String name, Supplier<String> value) {
         if (Objects.nonNull(name)) {
-            headers.add(new Entry(name, value));
+            mutable().add(new Entry(name, value));
         }
     }
 
@@ -77,7 +91,7 @@ public class Headers {
     }
 
     private void remove(String name) {
-        headers.removeIf(h -> isName(h, name));
+        mutable().removeIf(h -> isName(h, name));
     }
 
     /**
@@ -85,7 +99,7 @@ public class Headers {
      * @return the size of the header keys
      */
     public int size() {
-        return headers.stream().map(Header::getName).collect(toSet()).size();
+        return view().stream().map(Header::getName).collect(toSet()).size();
     }
 
     /**
@@ -94,7 +108,7 @@ public class Headers {
      * @return a list of values
      */
     public List<String> get(String name) {
-        return headers.stream()
+        return view().stream()
                 .filter(h -> isName(h, name))
                 .map(Header::getValue)
                 .collect(toList());
@@ -105,7 +119,7 @@ public class Headers {
      * @param header a header
      */
     public void putAll(Headers header) {
-        this.headers.addAll(header.headers);
+        mutable().addAll(header.view());
     }
 
     /**
@@ -114,14 +128,14 @@ public class Headers {
      * @return if the headers contain this name.
      */
     public boolean containsKey(String name) {
-        return this.headers.stream().anyMatch(h -> isName(h, name));
+        return view().stream().anyMatch(h -> isName(h, name));
     }
 
     /**
      * Clear the headers!
      */
     public void clear() {
-        this.headers.clear();
+        mutable().clear();
     }
 
     /**
@@ -130,7 +144,7 @@ public class Headers {
      * @return the first value
      */
     public String getFirst(String key) {
-        return headers
+        return view()
                 .stream()
                 .filter(h -> isName(h, key))
                 .findFirst()
@@ -143,7 +157,26 @@ public class Headers {
      * @return all the headers, in order
      */
     public List<Header> all() {
-        return this.headers;
+        return view();
+    }
+
+    private synchronized List<Header> view() {
+        if (headers != null) {
+            return headers;
+        }
+        if (view == null) {
+            view = Collections.unmodifiableList(source.get());
+        }
+        return view;
+    }
+
+    private synchronized List<Header> mutable() {
+        if (headers == null) {
+            headers = new ArrayList<>(view());
+            view = null;
+            source = null;
+        }
+        return headers;
     }
 
     private boolean isName(Header h, String name) {
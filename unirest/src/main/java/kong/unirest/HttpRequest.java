@@ -26,12 +26,16 @@
 package kong.unirest;
 
 import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public interface HttpRequest<R extends HttpRequest> {
     /**
@@ -156,6 +160,42 @@ public interface HttpRequest<R extends HttpRequest> {
      */
     CompletableFuture<HttpResponse<String>> asStringAsync(Callback<String> callback);
 
+    /**
+     * Executes the request and returns the response with the body as a byte array
+     * @return response
+     */
+    HttpResponse<byte[]> asBytes();
+
+    /**
+     * Executes the request asynchronously and returns the response with the body as a byte array
+     * @return a CompletableFuture of a response
+     */
+    CompletableFuture<HttpResponse<byte[]>> asBytesAsync();
+
+    /**
+     * Executes the request and returns the response with the body read into a pooled ByteBuffer.
+     * Close the response to release the buffer back to the pool.
+     * @return a closeable response
+     */
+    ByteBufferResponse asByteBuffer();
+
+    /**
+     * Executes the request asynchronously and returns the response with the body read into a pooled ByteBuffer.
+     * Close the response to release the buffer back to the pool.
+     * @return a CompletableFuture of a closeable response
+     */
+    CompletableFuture<ByteBufferResponse> asByteBufferAsync();
+
+    /**
+     * Executes the request asynchronously and returns the response as soon as the headers arrive with the body as
+     * a publisher of chunks. Chunks are pushed as they are received and only as fast as the subscriber asks for them.
+     * While the subscriber has no outstanding demand the connection is not read from.
+     * The body must be subscribed to, and the subscription cancelled if the rest of the body is not wanted,
+     * otherwise the connection is never released.
+     * @return a CompletableFuture of a response
+     */
+    CompletableFuture<HttpResponse<Flow.Publisher<ByteBuffer>>> asPublisherAsync();
+
     /**
      * Executes the request and returns the response with the body mapped into a JsonNode
      * @return response
@@ -175,6 +215,24 @@ public interface HttpRequest<R extends HttpRequest> {
      */
     CompletableFuture<HttpResponse<JsonNode>> asJsonAsync(Callback<JsonNode> callback);
 
+    /**
+     * Executes the request and returns the response with only the values selected by JSON paths.
+     * The body is read in a single pass and parts no path goes into are skipped rather than parsed.
+     * Supported are the root ($), member names (.name or ['name']), array indexes ([0]) and wildcards (.* or [*]),
+     * for example $.data[*].id or $.meta.next
+     * @param paths the paths to select
+     * @return a response with the values matched by each path
+     */
+    HttpResponse<JsonPathValues> asJsonPaths(String... paths);
+
+    /**
+     * Executes the request asynchronously and returns the response with only the values selected by JSON paths.
+     * See asJsonPaths.
+     * @param paths the paths to select
+     * @return a CompletableFuture of a response
+     */
+    CompletableFuture<HttpResponse<JsonPathValues>> asJsonPathsAsync(String... paths);
+
     /**
      * Executes the request and returns the response with the body mapped into T by a configured ObjectMapper
      * @param responseClass the class to return. This will be passed to the ObjectMapper
@@ -201,6 +259,17 @@ public interface HttpRequest<R extends HttpRequest> {
      */
     <T> HttpResponse<T> asObject(Function<RawResponse, T> function);
 
+    /**
+     * Executes the request and returns the response with the body mapped into T for 200-series responses,
+     * or into E for everything else. The status picks the type before the body is read, so it is only parsed once.
+     * @param responseClass the class to map successful responses to
+     * @param errorClass the class to map error responses to
+     * @param <T> the body type
+     * @param <E> the error body type
+     * @return a response with either the body or the error body
+     */
+    <T, E> HttpResponseWithError<T, E> asObject(Class<? extends T> responseClass, Class<? extends E> errorClass);
+
     /**
      * Executes the request asynchronously and returns response with the body mapped into T by a configured ObjectMapper
      * @param responseClass the class type to map to
@@ -245,6 +314,17 @@ public interface HttpRequest<R extends HttpRequest> {
      */
     <T> CompletableFuture<HttpResponse<T>> asObjectAsync(Function<RawResponse, T> function);
 
+    /**
+     * Executes the request asynchronously and returns the response with the body mapped into T for 200-series
+     * responses, or into E for everything else. See asObject(Class, Class)
+     * @param responseClass the class to map successful responses to
+     * @param errorClass the class to map error responses to
+     * @param <T> the body type
+     * @param <E> the error body type
+     * @return a CompletableFuture of a response with either the body or the error body
+     */
+    <T, E> CompletableFuture<HttpResponseWithError<T, E>> asObjectAsync(Class<? extends T> responseClass, Class<? extends E> errorClass);
+
     /**
      * Executes the request and writes the contents into a file
      * @param path The path to the file.
@@ -267,6 +347,117 @@ public interface HttpRequest<R extends HttpRequest> {
      */
     CompletableFuture<HttpResponse<File>> asFileAsync(String path, Callback<File> callback);
 
+    /**
+     * Executes the request and writes the contents into a file
+     * @param path The path to the file.
+     * @param mode what to do if the file already exists
+     * @return a file containing the results
+     */
+    HttpResponse<File> asFile(String path, DownloadMode mode);
+
+    /**
+     * asynchronously executes the request and writes the contents into a file as they arrive
+     * @param path The path to the file.
+     * @param mode what to do if the file already exists
+     * @return a file containing the results
+     */
+    CompletableFuture<HttpResponse<File>> asFileAsync(String path, DownloadMode mode);
+
+    /**
+     * Executes the request as several byte Range requests made in parallel, each written straight to its
+     * part of the file. Failed segments are retried on their own. If the server doesn't accept ranges
+     * (checked with a HEAD request first) the file is downloaded as a single stream as asFile does.
+     * The number of segments is capped by Config::maxPerRoutes.
+     * @param path The path to the file. It must not already exist.
+     * @param segments the number of ranges to download at once
+     * @return a file containing the results
+     */
+    HttpResponse<File> asFileInParallel(String path, int segments);
+
+    /**
+     * Executes the request and returns the response with the body as a live InputStream.
+     * The connection stays leased to the response until the stream is read to the end or the response is closed.
+     * Use it in a try-with-resources block.
+     * @return a closeable response holding the connection
+     */
+    StreamResponse<InputStream> asInputStream();
+
+    /**
+     * Executes the request asynchronously and returns the response with the body as a live InputStream
+     * as soon as the status and headers arrive. The body keeps arriving in the background as it is read.
+     * The connection stays leased to the response until the stream is read to the end or the response is closed.
+     * Do not read the stream on the thread completing the future.
+     * @return a CompletableFuture of a closeable response holding the connection
+     */
+    CompletableFuture<StreamResponse<InputStream>> asInputStreamAsync();
+
+    /**
+     * Executes the request and returns the response with the body as a live ReadableByteChannel.
+     * The connection stays leased to the response until the channel is read to the end or the response is closed.
+     * @return a closeable response holding the connection
+     */
+    StreamResponse<ReadableByteChannel> asChannel();
+
+    /**
+     * Executes the request asynchronously and returns the response with the body as a live ReadableByteChannel
+     * as soon as the status and headers arrive.
+     * @return a CompletableFuture of a closeable response holding the connection
+     */
+    CompletableFuture<StreamResponse<ReadableByteChannel>> asChannelAsync();
+
+    /**
+     * Executes the request and returns the response with the body as a Stream of the elements of a top level
+     * JSON array, or of each value of newline delimited JSON. Elements are read from the connection and mapped
+     * with the ObjectMapper one at a time as the stream is consumed, so only one is in memory at once.
+     * The connection stays leased until the stream is consumed or the response (or stream) is closed.
+     * @param type the type of each element
+     * @param <T> the type of each element
+     * @return a closeable response holding the connection
+     */
+    <T> StreamResponse<Stream<T>> asJsonStream(Class<T> type);
+
+    /**
+     * Executes the request asynchronously and returns the response with the body as a Stream of elements
+     * as soon as the status and headers arrive. See asJsonStream.
+     * Do not consume the stream on the thread completing the future.
+     * @param type the type of each element
+     * @param <T> the type of each element
+     * @return a CompletableFuture of a closeable response holding the connection
+     */
+    <T> CompletableFuture<StreamResponse<Stream<T>>> asJsonStreamAsync(Class<T> type);
+
+    /**
+     * Executes the request and returns the response with the body as a Stream of its lines,
+     * read from the connection as the stream is consumed.
+     * @return a closeable response holding the connection
+     */
+    StreamResponse<Stream<String>> asLines();
+
+    /**
+     * Executes the request asynchronously and returns the response with the body as a Stream of its lines
+     * as soon as the status and headers arrive.
+     * Do not consume the stream on the thread completing the future.
+     * @return a CompletableFuture of a closeable response holding the connection
+     */
+    CompletableFuture<StreamResponse<Stream<String>>> asLinesAsync();
+
+    /**
+     * Connects to a text/event-stream (Server-Sent Events) and passes each event to the listener as it arrives.
+     * Dropped connections are reconnected after the server's retry delay with the Last-Event-ID header.
+     * Close the returned source to stop.
+     * @param listener the listener for events
+     * @return the running event source
+     */
+    EventSource asEventSource(SseListener listener);
+
+    /**
+     * A publisher of the events of a text/event-stream (Server-Sent Events). Each subscriber gets its own
+     * connection, with the same reconnection as asEventSource. Nothing more is read from the connection
+     * while the subscriber has no outstanding demand. The subscriber completes when the server ends the stream with a 204.
+     * @return a publisher of events
+     */
+    Flow.Publisher<ServerSentEvent> asEventPublisher();
+
     /**
      * Allows for following paging links common in many APIs.
      * Each request will result in the same request (headers, etc) but will use the "next" link provided by the extract function.
@@ -30,6 +30,7 @@ import org.json.JSONObject;
 
 import java.io.File;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
@@ -102,7 +103,7 @@ class HttpRequestBody extends BaseRequest<HttpRequestWithBody> implements HttpRe
 
 	@Override
 	public RequestBodyEntity body(Object body) {
-		return body(config.getObjectMapper().writeValue(body));
+		return new HttpRequestUniBody(this).body(body, config.getObjectMapper());
 	}
 
 	@Override
@@ -110,6 +111,21 @@ class HttpRequestBody extends BaseRequest<HttpRequestWithBody> implements HttpRe
 		return new HttpRequestUniBody(this).body(body);
 	}
 
+	@Override
+	public RequestBodyEntity body(InputStream body) {
+		return new HttpRequestUniBody(this).body(body);
+	}
+
+	@Override
+	public RequestBodyEntity body(InputStream body, long length) {
+		return new HttpRequestUniBody(this).body(body, length);
+	}
+
+	@Override
+	public RequestBodyEntity body(ByteBuffer body) {
+		return new HttpRequestUniBody(this).body(body);
+	}
+
 	/**
 	 * Sugar method for body operation
 	 *
@@ -80,7 +80,7 @@ class HttpRequestJsonPatch extends BaseRequest<JsonPatchRequest> implements Json
 
     @Override
     public BodyPart uniPart() {
-        String bodyAsString = items.toString();
+        String bodyAsString = config.getJsonEngine().writePatch(items);
         return new UnibodyString(bodyAsString, StandardCharsets.UTF_8);
     }
 
@@ -25,6 +25,8 @@
 
 package kong.unirest;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.Optional;
 
@@ -49,12 +51,34 @@ class HttpRequestUniBody extends BaseRequest<RequestBodyEntity> implements Reque
 		return this;
 	}
 
+	RequestBodyEntity body(Object value, ObjectMapper mapper) {
+		this.body = new UniObjectBody(value, mapper);
+		return this;
+	}
+
 	@Override
 	public RequestBodyEntity body(byte[] bodyBytes) {
 		this.body = new UniByteArrayBody(bodyBytes);
 		return this;
 	}
 
+	@Override
+	public RequestBodyEntity body(InputStream stream) {
+		return body(stream, -1);
+	}
+
+	@Override
+	public RequestBodyEntity body(InputStream stream, long length) {
+		this.body = new UniInputStreamBody(stream, length);
+		return this;
+	}
+
+	@Override
+	public RequestBodyEntity body(ByteBuffer buffer) {
+		this.body = new UniByteBufferBody(buffer);
+		return this;
+	}
+
 	@Override
 	public RequestBodyEntity charset(Charset charset) {
 		this.charSet = charset;
@@ -30,6 +30,7 @@ import org.json.JSONObject;
 
 import java.io.File;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.Map;
@@ -61,6 +62,29 @@ public interface HttpRequestWithBody extends HttpRequest<HttpRequestWithBody> {
 
     RequestBodyEntity body(byte[] body);
 
+    /**
+     * Stream the body from a InputStream of unknown length.
+     * The request will be sent with chunked transfer encoding.
+     * @param body the InputStream to read the body from
+     * @return a RequestBodyEntity
+     */
+    RequestBodyEntity body(InputStream body);
+
+    /**
+     * Stream the body from a InputStream of a known length.
+     * @param body the InputStream to read the body from
+     * @param length the number of bytes to send or -1 if unknown
+     * @return a RequestBodyEntity
+     */
+    RequestBodyEntity body(InputStream body, long length);
+
+    /**
+     * Send the remaining bytes of a ByteBuffer as the body without copying them.
+     * @param body the buffer containing the body
+     * @return a RequestBodyEntity
+     */
+    RequestBodyEntity body(ByteBuffer body);
+
     RequestBodyEntity body(JSONObject body);
 
     RequestBodyEntity body(JSONArray body);
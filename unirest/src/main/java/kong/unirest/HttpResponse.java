@@ -55,12 +55,45 @@ public interface HttpResponse<T> {
      */
     T getBody();
 
+    /**
+     * The original content of the response. This is only kept for mapped responses (asJson and asObject)
+     * when mapping is lazy or was skipped because the response was not a 200-series response.
+     * See Config::lazyBodyDecoding and Config::mapErrorResponses
+     * @return the original content or null if it was not kept
+     */
+    default byte[] getRawBody() {
+        return null;
+    }
+
+    /**
+     * @return the original content decoded with the response charset or null if it was not kept
+     */
+    default String getRawBodyAsString() {
+        return null;
+    }
+
     /**
      * If the transformation to the body failed by an exception it will be kept here
      * @return a possible RuntimeException. Checked exceptions are wrapped in a UnirestException
      */
     Optional<UnirestParsingException> getParsingError();
 
+    /**
+     * When Config::failuresAsResponses is on, requests which fail before getting a response
+     * return a response with a status of 0 and the reason here instead of throwing.
+     * @return why there was no response, or empty if there was one
+     */
+    default Optional<FailureCause> getFailureCause() {
+        return Optional.empty();
+    }
+
+    /**
+     * @return the exception behind a failure returned as a response, see getFailureCause
+     */
+    default Optional<Throwable> getFailure() {
+        return Optional.empty();
+    }
+
     /**
      * @param func a function to transform a body type to something else.
      * @param <V> The return type of the function
@@ -0,0 +1,293 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Inflates gzip and deflate content straight into the caller's buffer.
+ * Inflaters hold native memory and are expensive to create and end, so they are
+ * kept in a small pool and reset between responses rather than made for each one.
+ * Nothing is read from the underlying stream until the first read, and the Inflater goes back to the pool
+ * as soon as the end of the content is reached, so callers who read to the end without closing don't hold on to it.
+ */
+class InflatingInputStream extends InputStream {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int POOL_SIZE = 32;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    private static final Pool RAW = new Pool(true);
+    private static final Pool ZLIB = new Pool(false);
+
+    private final PushbackInputStream in;
+    private final boolean gzip;
+    private final byte[] input = new byte[BUFFER_SIZE];
+    private final CRC32 crc = new CRC32();
+    private final byte[] single = new byte[1];
+    private Pool pool;
+    private Inflater inflater;
+    private int inputLength;
+    private boolean started;
+    private boolean eof;
+
+    private InflatingInputStream(InputStream in, boolean gzip) {
+        this.in = new PushbackInputStream(in, BUFFER_SIZE);
+        this.gzip = gzip;
+    }
+
+    static InputStream gzip(InputStream in) {
+        return new InflatingInputStream(in, true);
+    }
+
+    static InputStream deflate(InputStream in) {
+        return new InflatingInputStream(in, false);
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (eof || (!started && !start())) {
+            return -1;
+        }
+        if (len == 0) {
+            return 0;
+        }
+        while (true) {
+            int count = inflate(b, off, len);
+            if (count > 0) {
+                if (gzip) {
+                    crc.update(b, off, count);
+                }
+                return count;
+            } else if (inflater.finished()) {
+                if (!nextMember()) {
+                    eof = true;
+                    release();
+                    return -1;
+                }
+            } else if (inflater.needsDictionary()) {
+                throw new ZipException("Deflate content with a preset dictionary is not supported");
+            } else if (inflater.needsInput()) {
+                fill();
+            }
+        }
+    }
+
+    private int inflate(byte[] b, int off, int len) throws ZipException {
+        try {
+            return inflater.inflate(b, off, len);
+        } catch (DataFormatException e) {
+            throw new ZipException(e.getMessage());
+        }
+    }
+
+    private void fill() throws IOException {
+        inputLength = in.read(input);
+        if (inputLength == -1) {
+            throw new EOFException("Unexpected end of compressed content");
+        }
+        inflater.setInput(input, 0, inputLength);
+    }
+
+    // an empty body is allowed even when it claims to be encoded
+    private boolean start() throws IOException {
+        started = true;
+        int first = in.read();
+        if (first == -1) {
+            eof = true;
+            return false;
+        }
+        in.unread(first);
+        if (gzip) {
+            readHeader();
+            pool = RAW;
+        } else {
+            pool = isZlib() ? ZLIB : RAW;
+        }
+        inflater = pool.take();
+        return true;
+    }
+
+    // "deflate" should be zlib wrapped but some servers send the raw stream
+    private boolean isZlib() throws IOException {
+        byte[] head = new byte[2];
+        int read = in.read(head);
+        if (read > 0) {
+            in.unread(head, 0, read);
+        }
+        return read == 2 && (head[0] & 0x0F) == 8 && (((head[0] & 0xFF) << 8) | (head[1] & 0xFF)) % 31 == 0;
+    }
+
+    // gzip content may be several members one after another
+    private boolean nextMember() throws IOException {
+        int remaining = inflater.getRemaining();
+        if (remaining > 0) {
+            in.unread(input, inputLength - remaining, remaining);
+        }
+        if (!gzip) {
+            return false;
+        }
+        readTrailer();
+        int next = in.read();
+        if (next == -1) {
+            return false;
+        }
+        in.unread(next);
+        readHeader();
+        inflater.reset();
+        crc.reset();
+        return true;
+    }
+
+    private void readHeader() throws IOException {
+        if (readByte() != 0x1f || readByte() != 0x8b) {
+            throw new ZipException("Not in GZIP format");
+        }
+        if (readByte() != 8) {
+            throw new ZipException("Unsupported compression method");
+        }
+        int flags = readByte();
+        skip(6);
+        if ((flags & FEXTRA) != 0) {
+            skip(readByte() | readByte() << 8);
+        }
+        if ((flags & FNAME) != 0) {
+            skipString();
+        }
+        if ((flags & FCOMMENT) != 0) {
+            skipString();
+        }
+        if ((flags & FHCRC) != 0) {
+            skip(2);
+        }
+    }
+
+    private void readTrailer() throws IOException {
+        long expectedCrc = readInt();
+        long expectedSize = readInt();
+        if (expectedCrc != crc.getValue()) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+        if (expectedSize != (inflater.getBytesWritten() & 0xFFFFFFFFL)) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+    }
+
+    private long readInt() throws IOException {
+        return (readByte() | readByte() << 8 | readByte() << 16 | (long) readByte() << 24);
+    }
+
+    private int readByte() throws IOException {
+        int b = in.read();
+        if (b == -1) {
+            throw new EOFException("Unexpected end of compressed content");
+        }
+        return b;
+    }
+
+    private void skip(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            readByte();
+        }
+    }
+
+    private void skipString() throws IOException {
+        while (readByte() != 0) {
+            // skips up to the terminating zero
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        return eof ? 0 : in.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        release();
+        eof = true;
+        in.close();
+    }
+
+    private void release() {
+        if (inflater != null) {
+            pool.give(inflater);
+            inflater = null;
+        }
+    }
+
+    /**
+     * @return the number of Inflaters waiting in the pools
+     */
+    static int idleInflaters() {
+        return RAW.size.get() + ZLIB.size.get();
+    }
+
+    private static class Pool {
+        private final Deque<Inflater> idle = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final boolean nowrap;
+
+        Pool(boolean nowrap) {
+            this.nowrap = nowrap;
+        }
+
+        Inflater take() {
+            Inflater inflater = idle.pollFirst();
+            if (inflater == null) {
+                return new Inflater(nowrap);
+            }
+            size.decrementAndGet();
+            return inflater;
+        }
+
+        void give(Inflater inflater) {
+            if (size.incrementAndGet() > POOL_SIZE) {
+                size.decrementAndGet();
+                inflater.end();
+                return;
+            }
+            inflater.reset();
+            idle.offerFirst(inflater);
+        }
+    }
+}
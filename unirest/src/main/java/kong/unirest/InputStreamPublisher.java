@@ -0,0 +1,125 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes a stream in chunks. The stream is read on the thread which requests more items.
+ */
+class InputStreamPublisher implements Flow.Publisher<ByteBuffer> {
+    private static final int CHUNK_SIZE = 32 * 1024;
+    private final InputStream stream;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    InputStreamPublisher(InputStream stream) {
+        this.stream = stream;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Rejected());
+            subscriber.onError(new IllegalStateException("The body can only be subscribed to once"));
+            return;
+        }
+        subscriber.onSubscribe(new StreamSubscription(subscriber));
+    }
+
+    private class StreamSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicBoolean emitting = new AtomicBoolean();
+        private volatile boolean done;
+
+        StreamSubscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("Demand must be positive"));
+                return;
+            }
+            demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+            // requests made from onNext are picked up by the loop already running
+            while (!done && demand.get() > 0 && emitting.compareAndSet(false, true)) {
+                try {
+                    emit();
+                } finally {
+                    emitting.set(false);
+                }
+            }
+        }
+
+        private void emit() {
+            try {
+                while (!done && demand.get() > 0) {
+                    byte[] chunk = new byte[CHUNK_SIZE];
+                    int read = stream.read(chunk);
+                    if (read == -1) {
+                        cancel();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    demand.decrementAndGet();
+                    subscriber.onNext(ByteBuffer.wrap(chunk, 0, read));
+                }
+            } catch (IOException e) {
+                cancel();
+                subscriber.onError(e);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // nothing left to tell the subscriber
+            }
+        }
+    }
+
+    private static class Rejected implements Flow.Subscription {
+        @Override
+        public void request(long n) {
+            // never subscribed
+        }
+
+        @Override
+        public void cancel() {
+            // never subscribed
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.Reader;
+import java.io.StringReader;
+
+/**
+ * Parses and writes the json trees behind JsonNode, and writes JsonPatch documents.
+ * The default engine is {@link OrgJsonEngine}. Trees from other engines are only converted to org.json
+ * the first time JsonNode::getObject or JsonNode::getArray are called.
+ * Engines must be safe to call from several threads at once.
+ */
+public interface JsonEngine {
+
+    /**
+     * Parse a json object or array. An empty document is an empty object.
+     * @param json the json
+     * @return the engine's tree
+     * @throws RuntimeException such as a JSONException if the json is not an object or array
+     */
+    Object parse(Reader json);
+
+    /**
+     * Parse a json object or array
+     * @param json the json, which is not empty
+     * @return the engine's tree
+     */
+    default Object parse(String json) {
+        return parse(new StringReader(json));
+    }
+
+    /**
+     * @param tree a tree made by this engine
+     * @return true if the tree is an array
+     */
+    boolean isArray(Object tree);
+
+    /**
+     * @param tree a tree made by this engine
+     * @return the tree as json
+     */
+    String toJson(Object tree);
+
+    /**
+     * Convert a tree to org.json
+     * @param tree a tree made by this engine
+     * @return a JSONArray for arrays, otherwise a JSONObject
+     */
+    default Object toOrgJson(Object tree) {
+        String json = toJson(tree);
+        return isArray(tree) ? new JSONArray(json) : new JSONObject(json);
+    }
+
+    /**
+     * Write a patch document as it is sent with a JSON PATCH request
+     * @param patch the patch
+     * @return the patch as json
+     */
+    default String writePatch(JsonPatch patch) {
+        return patch.toString();
+    }
+}
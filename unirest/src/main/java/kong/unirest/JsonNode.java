@@ -26,39 +26,165 @@
 package kong.unirest;
 
 import org.json.JSONArray;
-import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
+/**
+ * A json object or array. The text is parsed by a {@link JsonEngine}, org.json unless another one is given.
+ * Trees from other engines are converted to org.json the first time getObject or getArray is called.
+ */
 public class JsonNode {
+    private static final JsonEngine DEFAULT_ENGINE = new OrgJsonEngine();
 
-    private JSONObject jsonObject;
-    private JSONArray jsonArray;
+    private final JsonEngine engine;
+    private volatile String source;
+    private volatile Object tree;
+    private volatile Object orgJson;
+    private JSONArray wrapper;
 
     private boolean array;
 
     public JsonNode(String json) {
-        if (json == null || "".equals(json.trim())) {
-            jsonObject = new JSONObject();
+        this(json, DEFAULT_ENGINE, false);
+    }
+
+    /**
+     * Parse json with a JsonEngine
+     * @param json the json
+     * @param engine the engine
+     */
+    public JsonNode(String json, JsonEngine engine) {
+        this(json, engine, false);
+    }
+
+    private JsonNode(String json, JsonEngine engine, boolean lazy) {
+        this.engine = engine;
+        char first = json == null ? 0 : firstNonWhitespace(json);
+        if (first == 0) {
+            orgJson = new JSONObject();
+            tree = orgJson;
+            return;
+        }
+        array = first != '{';
+        if (lazy) {
+            source = json;
         } else {
-            try {
-                jsonObject = new JSONObject(json);
-            } catch (JSONException e) {
-                // It may be an array
-                jsonArray = new JSONArray(json);
-                array = true;
+            tree = engine.parse(json);
+        }
+    }
+
+    private JsonNode(JsonEngine engine, Object tree) {
+        this.engine = engine;
+        this.tree = tree;
+        this.array = engine.isArray(tree);
+    }
+
+    static JsonNode of(JSONArray array) {
+        return new JsonNode(DEFAULT_ENGINE, array);
+    }
+
+    /**
+     * Parse json straight from a stream without first reading it into a String
+     * @param stream the json
+     * @param charset the charset of the stream
+     */
+    public JsonNode(InputStream stream, Charset charset) {
+        this(DEFAULT_ENGINE, DEFAULT_ENGINE.parse(new InputStreamReader(stream, charset)));
+    }
+
+    /**
+     * Parse json from a character stream without first reading it into a String
+     * @param reader the json
+     * @return a JsonNode
+     */
+    public static JsonNode parse(Reader reader) {
+        return parse(reader, DEFAULT_ENGINE);
+    }
+
+    /**
+     * Parse json from a character stream with a JsonEngine
+     * @param reader the json
+     * @param engine the engine
+     * @return a JsonNode
+     */
+    public static JsonNode parse(Reader reader, JsonEngine engine) {
+        return new JsonNode(engine, engine.parse(reader));
+    }
+
+    /**
+     * Keep the json text and only parse it the first time the tree is needed, for example by getObject or getArray.
+     * isArray is answered without parsing. Invalid json fails on first access rather than here.
+     * @param json the json
+     * @return a JsonNode
+     */
+    public static JsonNode lazy(String json) {
+        return lazy(json, DEFAULT_ENGINE);
+    }
+
+    /**
+     * Keep the json text and only parse it with the JsonEngine the first time the tree is needed
+     * @param json the json
+     * @param engine the engine
+     * @return a JsonNode
+     */
+    public static JsonNode lazy(String json, JsonEngine engine) {
+        return new JsonNode(json, engine, true);
+    }
+
+    private static char firstNonWhitespace(String json) {
+        for (int i = 0; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c > ' ') {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    private Object tree() {
+        if (source != null) {
+            synchronized (this) {
+                String json = source;
+                if (json != null) {
+                    tree = engine.parse(json);
+                    source = null;
+                }
             }
         }
+        return tree;
+    }
+
+    private Object orgJson() {
+        Object result = orgJson;
+        if (result == null) {
+            Object parsed = tree();
+            synchronized (this) {
+                if (orgJson == null) {
+                    orgJson = engine.toOrgJson(parsed);
+                }
+                result = orgJson;
+            }
+        }
+        return result;
     }
 
     public JSONObject getObject() {
-        return this.jsonObject;
+        return array ? null : (JSONObject) orgJson();
     }
 
     public JSONArray getArray() {
-        JSONArray result = this.jsonArray;
-        if (array == false) {
+        if (array) {
+            return (JSONArray) orgJson();
+        }
+        JSONArray result = wrapper;
+        if (result == null) {
             result = new JSONArray();
-            result.put(jsonObject);
+            result.put(getObject());
+            wrapper = result;
         }
         return result;
     }
@@ -69,10 +195,10 @@ public class JsonNode {
 
     @Override
     public String toString() {
-        if (isArray()) {
-            return jsonArray.toString();
-        } else {
-            return jsonObject.toString();
+        Object converted = orgJson;
+        if (converted != null) {
+            return converted.toString();
         }
+        return engine.toJson(tree());
     }
 }
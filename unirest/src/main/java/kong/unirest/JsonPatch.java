@@ -73,7 +73,7 @@ public class JsonPatch {
     @Override
     public String toString() {
         JSONArray a = new JSONArray();
-        items.forEach(i -> a.put(new JSONObject(i.toString())));
+        items.forEach(i -> a.put(i.toJSONObject()));
         return a.toString();
     }
 
@@ -71,6 +71,10 @@ public class JsonPatchItem {
 
     @Override
     public String toString() {
+        return toJSONObject().toString();
+    }
+
+    JSONObject toJSONObject() {
         JSONObject json = new JSONObject()
                 .put("op", op)
                 .put("path", path);
@@ -79,7 +83,7 @@ public class JsonPatchItem {
             json.put(op.getOperationtype(), value);
         }
 
-        return json.toString();
+        return json;
     }
 
     public JsonPatchOperation getOp() {
@@ -0,0 +1,152 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compiled JSON path for asJsonPaths. The supported subset is the root ($), member names
+ * (.name, ['name'] or ["name"]), array indexes ([0]) and wildcards (.* or [*]).
+ * Recursive descent, slices and filters are not supported.
+ */
+class JsonPath {
+    private static final Object WILDCARD = new Object();
+
+    private final String text;
+    private final List<Object> segments;
+
+    private JsonPath(String text, List<Object> segments) {
+        this.text = text;
+        this.segments = segments;
+    }
+
+    static List<JsonPath> compile(String... paths) {
+        if (paths == null || paths.length == 0) {
+            throw new IllegalArgumentException("At least one path is required");
+        }
+        List<JsonPath> compiled = new ArrayList<>(paths.length);
+        for (String path : paths) {
+            compiled.add(compile(path));
+        }
+        return compiled;
+    }
+
+    static JsonPath compile(String path) {
+        if (path == null || !path.startsWith("$")) {
+            throw invalid(path, "it must start with $");
+        }
+        List<Object> segments = new ArrayList<>();
+        int i = 1;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                i = member(path, i + 1, segments);
+            } else if (c == '[') {
+                i = bracket(path, i + 1, segments);
+            } else {
+                throw invalid(path, "unexpected '" + c + "' at " + i);
+            }
+        }
+        return new JsonPath(path, segments);
+    }
+
+    private static int member(String path, int start, List<Object> segments) {
+        int end = start;
+        while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+            end++;
+        }
+        if (end == start) {
+            throw invalid(path, "recursive descent and empty names are not supported");
+        }
+        String name = path.substring(start, end);
+        segments.add("*".equals(name) ? WILDCARD : name);
+        return end;
+    }
+
+    private static int bracket(String path, int start, List<Object> segments) {
+        int close = path.indexOf(']', start);
+        if (close < 0) {
+            throw invalid(path, "unclosed [");
+        }
+        char first = path.charAt(start);
+        if (first == '\'' || first == '"') {
+            return quoted(path, start, segments);
+        }
+        String inner = path.substring(start, close);
+        if ("*".equals(inner)) {
+            segments.add(WILDCARD);
+        } else if (!inner.isEmpty() && inner.chars().allMatch(Character::isDigit)) {
+            segments.add(Integer.valueOf(inner));
+        } else {
+            throw invalid(path, "only names, indexes and * are supported in brackets");
+        }
+        return close + 1;
+    }
+
+    private static int quoted(String path, int start, List<Object> segments) {
+        char quote = path.charAt(start);
+        StringBuilder name = new StringBuilder();
+        int i = start + 1;
+        while (i < path.length() && path.charAt(i) != quote) {
+            if (path.charAt(i) == '\\' && i + 1 < path.length()) {
+                i++;
+            }
+            name.append(path.charAt(i++));
+        }
+        if (i + 1 >= path.length() || path.charAt(i + 1) != ']') {
+            throw invalid(path, "unclosed quoted name");
+        }
+        segments.add(name.toString());
+        return i + 2;
+    }
+
+    private static IllegalArgumentException invalid(String path, String reason) {
+        return new IllegalArgumentException("Unsupported JSON path " + path + ": " + reason);
+    }
+
+    /**
+     * @return the number of segments after the root
+     */
+    int length() {
+        return segments.size();
+    }
+
+    /**
+     * @param depth the segment
+     * @param key a member name or an array index
+     * @return if the segment at the depth selects the key
+     */
+    boolean matches(int depth, Object key) {
+        Object segment = segments.get(depth);
+        return segment == WILDCARD || segment.equals(key);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,338 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates JsonPaths against a JSON document in one pass over the characters.
+ * Subtrees which no path goes into are skipped without being parsed, names and values are only
+ * allocated where a path needs them and only the matched values are turned into org.json objects.
+ */
+class JsonPathReader {
+    private static final int[] NONE = new int[0];
+
+    private final Reader reader;
+    private final List<JsonPath> paths;
+    private final List<List<Object>> results = new ArrayList<>();
+    private final char[] buffer = new char[8192];
+    private final StringBuilder text = new StringBuilder();
+    private final StringBuilder capture = new StringBuilder();
+    private int capturing;
+    private int position;
+    private int limit;
+    private long offset;
+
+    private JsonPathReader(Reader reader, List<JsonPath> paths) {
+        this.reader = reader;
+        this.paths = paths;
+        for (int i = 0; i < paths.size(); i++) {
+            results.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * @param reader the document
+     * @param paths the paths to select
+     * @return the selected values
+     * @throws JSONException if the document is not valid JSON
+     */
+    static JsonPathValues read(Reader reader, List<JsonPath> paths) {
+        JsonPathReader r = new JsonPathReader(reader, paths);
+        int first = r.nextClean();
+        if (first == 0xFEFF) {
+            first = r.nextClean();
+        }
+        if (first != -1) {
+            int[] all = new int[paths.size()];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            r.value(first, all, 0);
+            if (r.nextClean() != -1) {
+                throw r.error("Unexpected content after the document");
+            }
+        }
+        return r.values();
+    }
+
+    /**
+     * @param paths the paths to select
+     * @return no values for each of the paths
+     */
+    static JsonPathValues empty(List<JsonPath> paths) {
+        return new JsonPathReader(null, paths).values();
+    }
+
+    private JsonPathValues values() {
+        Map<String, List<Object>> values = new LinkedHashMap<>();
+        for (int i = 0; i < paths.size(); i++) {
+            values.put(paths.get(i).toString(), results.get(i));
+        }
+        return new JsonPathValues(values);
+    }
+
+    private void value(int first, int[] live, int depth) {
+        int[] deeper = NONE;
+        int mark = -1;
+        for (int p : live) {
+            if (paths.get(p).length() == depth) {
+                mark = mark < 0 ? beginCapture(first) : mark;
+            } else {
+                deeper = append(deeper, p);
+            }
+        }
+        if (deeper.length > 0 && first == '{') {
+            object(deeper, depth);
+        } else if (deeper.length > 0 && first == '[') {
+            array(deeper, depth);
+        } else {
+            skip(first);
+        }
+        if (mark >= 0) {
+            Object value = endCapture(mark);
+            for (int p : live) {
+                if (paths.get(p).length() == depth) {
+                    results.get(p).add(value);
+                }
+            }
+        }
+    }
+
+    private void object(int[] live, int depth) {
+        int c = nextClean();
+        if (c == '}') {
+            return;
+        }
+        while (true) {
+            if (c != '"') {
+                throw error("Expected a member name");
+            }
+            String name = readString();
+            if (nextClean() != ':') {
+                throw error("Expected a ':' after a member name");
+            }
+            value(nextClean(), select(live, depth, name), depth + 1);
+            c = nextClean();
+            if (c == '}') {
+                return;
+            } else if (c != ',') {
+                throw error("Expected a ',' or '}'");
+            }
+            c = nextClean();
+        }
+    }
+
+    private void array(int[] live, int depth) {
+        int c = nextClean();
+        if (c == ']') {
+            return;
+        }
+        for (int index = 0; ; index++) {
+            value(c, select(live, depth, index), depth + 1);
+            c = nextClean();
+            if (c == ']') {
+                return;
+            } else if (c != ',') {
+                throw error("Expected a ',' or ']'");
+            }
+            c = nextClean();
+        }
+    }
+
+    private int[] select(int[] live, int depth, Object key) {
+        int[] selected = NONE;
+        for (int p : live) {
+            if (paths.get(p).matches(depth, key)) {
+                selected = append(selected, p);
+            }
+        }
+        return selected;
+    }
+
+    private static int[] append(int[] values, int value) {
+        int[] bigger = new int[values.length + 1];
+        System.arraycopy(values, 0, bigger, 0, values.length);
+        bigger[values.length] = value;
+        return bigger;
+    }
+
+    private void skip(int first) {
+        if (first == '{') {
+            skipContainer('}');
+        } else if (first == '[') {
+            skipContainer(']');
+        } else if (first == '"') {
+            skipString();
+        } else if (first == '-' || (first >= '0' && first <= '9') || first == 't' || first == 'f' || first == 'n') {
+            while (!isDelimiter(peek())) {
+                next();
+            }
+        } else {
+            throw error(first == -1 ? "Unexpected end of document" : "Unexpected '" + (char) first + "'");
+        }
+    }
+
+    private void skipContainer(char close) {
+        while (true) {
+            int c = next();
+            if (c == close) {
+                return;
+            } else if (c == '"') {
+                skipString();
+            } else if (c == '{') {
+                skipContainer('}');
+            } else if (c == '[') {
+                skipContainer(']');
+            } else if (c == '}' || c == ']' || c == -1) {
+                throw error("Expected a '" + close + "'");
+            }
+        }
+    }
+
+    private void skipString() {
+        int c;
+        while ((c = next()) != '"') {
+            if (c == '\\') {
+                next();
+            } else if (c == -1) {
+                throw error("Unterminated string");
+            }
+        }
+    }
+
+    private String readString() {
+        text.setLength(0);
+        int c;
+        while ((c = next()) != '"') {
+            if (c == -1) {
+                throw error("Unterminated string");
+            }
+            text.append(c == '\\' ? unescape() : (char) c);
+        }
+        return text.toString();
+    }
+
+    private char unescape() {
+        int c = next();
+        switch (c) {
+            case 'b': return '\b';
+            case 't': return '\t';
+            case 'n': return '\n';
+            case 'f': return '\f';
+            case 'r': return '\r';
+            case 'u':
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(next(), 16);
+                    if (digit < 0) {
+                        throw error("Illegal unicode escape");
+                    }
+                    code = code * 16 + digit;
+                }
+                return (char) code;
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            default:
+                throw error("Illegal escape");
+        }
+    }
+
+    private int beginCapture(int first) {
+        if (capturing++ > 0) {
+            return capture.length() - 1;
+        }
+        capture.setLength(0);
+        capture.append((char) first);
+        return 0;
+    }
+
+    private Object endCapture(int mark) {
+        String value = capture.substring(mark);
+        capturing--;
+        char first = value.charAt(0);
+        if (first == '{' || first == '[' || first == '"') {
+            return new JSONTokener(value).nextValue();
+        }
+        return JSONObject.stringToValue(value);
+    }
+
+    private static boolean isDelimiter(int c) {
+        return c == -1 || c == ',' || c == ']' || c == '}' || c == ':' || Character.isWhitespace(c);
+    }
+
+    private int nextClean() {
+        int c;
+        do {
+            c = next();
+        } while (c == ' ' || c == '\n' || c == '\r' || c == '\t');
+        return c;
+    }
+
+    private int peek() {
+        return fill() ? buffer[position] : -1;
+    }
+
+    private int next() {
+        if (!fill()) {
+            return -1;
+        }
+        offset++;
+        char c = buffer[position++];
+        if (capturing > 0) {
+            capture.append(c);
+        }
+        return c;
+    }
+
+    private boolean fill() {
+        if (position < limit) {
+            return true;
+        }
+        try {
+            limit = reader.read(buffer);
+            position = 0;
+            return limit > 0;
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    private JSONException error(String message) {
+        return new JSONException(message + " at character " + offset);
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The values selected from a JSON body by asJsonPaths, keyed by the paths as they were given.
+ * Objects and arrays are JSONObjects and JSONArrays, null is JSONObject.NULL and
+ * everything else is a String, Number or Boolean.
+ */
+public class JsonPathValues {
+    private final Map<String, List<Object>> values;
+
+    JsonPathValues(Map<String, List<Object>> values) {
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * @param path one of the paths passed to asJsonPaths
+     * @return every value it matched in document order. Empty when nothing matched
+     */
+    public List<Object> get(String path) {
+        return values.getOrDefault(path, Collections.emptyList());
+    }
+
+    /**
+     * @param path one of the paths passed to asJsonPaths
+     * @return the first value it matched, if any
+     */
+    public Optional<Object> getFirst(String path) {
+        return get(path).stream().findFirst();
+    }
+
+    /**
+     * @return every path with the values it matched
+     */
+    public Map<String, List<Object>> asMap() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -25,36 +25,16 @@
 
 package kong.unirest;
 
-import java.util.Objects;
+import java.io.InputStreamReader;
 
-public class JsonResponse extends BaseResponse<JsonNode> {
-    private JsonNode node;
+public class JsonResponse extends DecodedResponse<JsonNode> {
 
     protected JsonResponse(RawResponse response) {
-        super(response);
-        node = getNode(response);
+        super(response, new JsonNode(null), decoder(response.getConfig()));
     }
 
-    private JsonNode getNode(RawResponse response) {
-        if (Objects.isNull(response) || !response.hasContent()) {
-            return new JsonNode(null);
-        } else {
-            String json = response.getContentAsString();
-            return toJsonNode(json);
-        }
-    }
-
-    private JsonNode toJsonNode(String json) {
-        try {
-            return new JsonNode(json);
-        } catch (RuntimeException e) {
-            super.setParsingException(json, e);
-            return null;
-        }
-    }
-
-    @Override
-    public JsonNode getBody() {
-        return node;
+    private static BufferDecoder<JsonNode> decoder(Config config) {
+        JsonEngine engine = config.getJsonEngine();
+        return ParallelArrayDecoder.json(config, streaming((in, charset) -> JsonNode.parse(new InputStreamReader(in, charset), engine)));
     }
 }
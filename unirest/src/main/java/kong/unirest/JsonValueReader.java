@@ -0,0 +1,164 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits a JSON document into its top level values one at a time without parsing them.
+ * A top level array is read element by element, anything else is read as a sequence of
+ * values separated by whitespace (newline delimited json). Only the current value is ever held in memory.
+ */
+class JsonValueReader {
+    private static final int NONE = -2;
+    private final Reader reader;
+    private final StringBuilder value = new StringBuilder();
+    private int pending = NONE;
+    private boolean started;
+    private boolean array;
+    private boolean ended;
+
+    JsonValueReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return the text of the next value, or null when there are no more
+     * @throws IOException if the reader fails
+     */
+    String next() throws IOException {
+        if (ended) {
+            return null;
+        }
+        int c = skipWhitespace();
+        if (!started) {
+            started = true;
+            if (c == '[') {
+                array = true;
+                c = skipWhitespace();
+                if (c == ']') {
+                    return end();
+                }
+            }
+        } else if (array) {
+            if (c == ']') {
+                return end();
+            } else if (c != ',') {
+                throw new UnirestException("Expected , or ] between array elements but found " + describe(c));
+            }
+            c = skipWhitespace();
+        }
+        if (c == -1) {
+            if (array) {
+                throw new UnirestException("Unexpected end of JSON array");
+            }
+            return end();
+        }
+        value.setLength(0);
+        readValue(c);
+        return value.toString();
+    }
+
+    private String end() {
+        ended = true;
+        return null;
+    }
+
+    private void readValue(int first) throws IOException {
+        if (first == '{' || first == '[') {
+            readNested(first);
+        } else if (first == '"') {
+            value.append('"');
+            readString();
+        } else {
+            readPrimitive(first);
+        }
+    }
+
+    private void readNested(int first) throws IOException {
+        int depth = 0;
+        int c = first;
+        while (true) {
+            if (c == -1) {
+                throw new UnirestException("Unexpected end of JSON value");
+            }
+            value.append((char) c);
+            if (c == '"') {
+                readString();
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+            if (depth == 0) {
+                return;
+            }
+            c = reader.read();
+        }
+    }
+
+    // the opening quote has already been appended
+    private void readString() throws IOException {
+        int c;
+        while ((c = reader.read()) != '"') {
+            if (c == -1) {
+                throw new UnirestException("Unexpected end of JSON string");
+            }
+            value.append((char) c);
+            if (c == '\\') {
+                int escaped = reader.read();
+                if (escaped == -1) {
+                    throw new UnirestException("Unexpected end of JSON string");
+                }
+                value.append((char) escaped);
+            }
+        }
+        value.append('"');
+    }
+
+    private void readPrimitive(int first) throws IOException {
+        int c = first;
+        while (c != -1 && c != ',' && c != ']' && c != '}' && !Character.isWhitespace(c)) {
+            value.append((char) c);
+            c = reader.read();
+        }
+        pending = c;
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c = pending == NONE ? reader.read() : pending;
+        pending = NONE;
+        while (c != -1 && Character.isWhitespace(c)) {
+            c = reader.read();
+        }
+        return c;
+    }
+
+    private static String describe(int c) {
+        return c == -1 ? "the end of the content" : "'" + (char) c + "'";
+    }
+}
@@ -25,10 +25,59 @@
 
 package kong.unirest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
 public interface ObjectMapper {
 	<T> T readValue(String value, Class<T> valueType);
 	default <T> T readValue(String value, GenericType<T> genericType){
 		throw new UnirestException("Please implement me");
 	}
 	String writeValue(Object value);
+
+	/**
+	 * Read a value straight from a response body.
+	 * The default reads the body into a String and passes it to readValue(String, Class).
+	 * Override to parse directly off the stream.
+	 * @param value the body
+	 * @param charset the charset of the body
+	 * @param valueType the class to map to
+	 * @param <T> the type to map to
+	 * @return the mapped value
+	 */
+	default <T> T readValue(InputStream value, Charset charset, Class<T> valueType){
+		return readValue(Util.readString(value, charset), valueType);
+	}
+
+	/**
+	 * Read a value straight from a response body.
+	 * The default reads the body into a String and passes it to readValue(String, GenericType).
+	 * Override to parse directly off the stream.
+	 * @param value the body
+	 * @param charset the charset of the body
+	 * @param genericType the type to map to
+	 * @param <T> the type to map to
+	 * @return the mapped value
+	 */
+	default <T> T readValue(InputStream value, Charset charset, GenericType<T> genericType){
+		return readValue(Util.readString(value, charset), genericType);
+	}
+
+	/**
+	 * Write a value as UTF-8 to a stream.
+	 * The default writes the result of writeValue(Object).
+	 * Override to serialize directly into the stream.
+	 * @param value the value to write
+	 * @param out the stream to write to. It should not be closed.
+	 */
+	default void writeValue(Object value, OutputStream out){
+		try {
+			out.write(writeValue(value).getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new UnirestException(e);
+		}
+	}
 }
@@ -25,48 +25,20 @@
 
 package kong.unirest;
 
-import java.util.Optional;
-import java.util.function.Function;
-
-
-class ObjectResponse<T> extends BaseResponse<T> {
-    private final T body;
-    private final ObjectMapper om;
+class ObjectResponse<T> extends DecodedResponse<T> {
 
     ObjectResponse(ObjectMapper om, RawResponse response, Class<? extends T> to) {
-        super(response);
-        this.om = om;
-        this.body = readBody(response)
-                .map(s -> getBody(s, e -> om.readValue(e, to)))
-                .orElse(null);
-    }
-
-    ObjectResponse(ObjectMapper om, RawResponse response, GenericType<? extends T> to){
-        super(response);
-        this.om = om;
-        this.body = readBody(response)
-                .map(s -> getBody(s, e -> om.readValue(e, to)))
-                .orElse(null);
-    }
-
-    private Optional<String> readBody(RawResponse response) {
-        if(!response.hasContent()){
-            return Optional.empty();
-        }
-        return Optional.of(response.getContentAsString());
+        super(response, null, ParallelArrayDecoder.of(om, to, response.getConfig(), streaming((s, c) -> om.readValue(s, c, to))));
     }
 
-    private T getBody(String b, Function<String, T> func){
-        try {
-            return func.apply(b);
-        } catch (RuntimeException e) {
-            setParsingException(b, e);
-            return null;
-        }
+    /**
+     * An error body, which is mapped whatever Config::mapErrorResponses says
+     */
+    ObjectResponse(ObjectMapper om, RawResponse response, Class<? extends T> to, boolean mapErrors) {
+        super(response, null, streaming((s, c) -> om.readValue(s, c, to)), mapErrors);
     }
 
-    @Override
-    public T getBody() {
-        return body;
+    ObjectResponse(ObjectMapper om, RawResponse response, GenericType<? extends T> to){
+        super(response, null, ParallelArrayDecoder.of(om, to, response.getConfig(), streaming((s, c) -> om.readValue(s, c, to))));
     }
 }
@@ -0,0 +1,73 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.util.Optional;
+
+class ObjectWithErrorResponse<T, E> extends BaseResponse<T> implements HttpResponseWithError<T, E> {
+    private final HttpResponse<T> success;
+    private final HttpResponse<E> error;
+
+    ObjectWithErrorResponse(ObjectMapper om, RawResponse response, Class<? extends T> to, Class<? extends E> errorClass) {
+        super(response);
+        if (getStatus() >= 200 && getStatus() < 300) {
+            this.success = new ObjectResponse<>(om, response, to);
+            this.error = null;
+        } else {
+            this.success = null;
+            this.error = new ObjectResponse<>(om, response, errorClass, true);
+        }
+    }
+
+    @Override
+    public T getBody() {
+        return success == null ? null : success.getBody();
+    }
+
+    @Override
+    public E getErrorBody() {
+        return error == null ? null : error.getBody();
+    }
+
+    @Override
+    public Optional<UnirestParsingException> getParsingError() {
+        return mapped().getParsingError();
+    }
+
+    @Override
+    public byte[] getRawBody() {
+        return mapped().getRawBody();
+    }
+
+    @Override
+    public String getRawBodyAsString() {
+        return mapped().getRawBodyAsString();
+    }
+
+    private HttpResponse<?> mapped() {
+        return success == null ? error : success;
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.Reader;
+
+/**
+ * The default JsonEngine. Its trees are the org.json JSONObject and JSONArray, so JsonNode never converts them.
+ */
+public class OrgJsonEngine implements JsonEngine {
+
+    @Override
+    public Object parse(Reader json) {
+        JSONTokener tokener = new JSONTokener(json);
+        char first = tokener.nextClean();
+        if (first == 0) {
+            return new JSONObject();
+        }
+        tokener.back();
+        // anything which isn't an object goes to the array parser, which reports the error for invalid json
+        return first == '{' ? new JSONObject(tokener) : new JSONArray(tokener);
+    }
+
+    @Override
+    public boolean isArray(Object tree) {
+        return tree instanceof JSONArray;
+    }
+
+    @Override
+    public String toJson(Object tree) {
+        return tree.toString();
+    }
+
+    @Override
+    public Object toOrgJson(Object tree) {
+        return tree;
+    }
+}
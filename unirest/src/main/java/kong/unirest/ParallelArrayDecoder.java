@@ -0,0 +1,330 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Decodes large top level JSON arrays in parallel. The buffered body is scanned once for the boundaries of
+ * its elements, then the elements are mapped on a fork/join pool and put back together in their original order.
+ * Bodies which are too small, are not a plain array, or are in a charset which can't be scanned byte by byte
+ * are left to the normal decoder, as are malformed ones so the usual parsing error is reported.
+ */
+class ParallelArrayDecoder {
+    private static final int MIN_ELEMENTS_PER_TASK = 16;
+    private static final List<Charset> SCANNABLE = Arrays.asList(StandardCharsets.UTF_8, StandardCharsets.US_ASCII, StandardCharsets.ISO_8859_1);
+
+    private ParallelArrayDecoder() {
+    }
+
+    /**
+     * @param om the ObjectMapper for the elements
+     * @param to the target type. Only arrays of objects are decoded in parallel
+     * @param config the config
+     * @param fallback the decoder for everything else
+     * @return a decoder
+     */
+    @SuppressWarnings("unchecked")
+    static <T> DecodedResponse.BufferDecoder<T> of(ObjectMapper om, Class<? extends T> to, Config config, DecodedResponse.BufferDecoder<T> fallback) {
+        Class<?> component = to.getComponentType();
+        if (component == null || component.isPrimitive()) {
+            return fallback;
+        }
+        return decoder(config, fallback, s -> om.readValue(s, component), elements -> {
+            Object array = Array.newInstance(component, elements.length);
+            System.arraycopy(elements, 0, array, 0, elements.length);
+            return (T) array;
+        });
+    }
+
+    /**
+     * @param om the ObjectMapper for the elements
+     * @param to the target type. Only Lists, Collections and Iterables of a plain class are decoded in parallel
+     * @param config the config
+     * @param fallback the decoder for everything else
+     * @return a decoder
+     */
+    @SuppressWarnings("unchecked")
+    static <T> DecodedResponse.BufferDecoder<T> of(ObjectMapper om, GenericType<? extends T> to, Config config, DecodedResponse.BufferDecoder<T> fallback) {
+        Class<?> component = listElement(to.getType());
+        if (component == null) {
+            return fallback;
+        }
+        return decoder(config, fallback, s -> om.readValue(s, component), elements -> (T) new ArrayList<>(Arrays.asList(elements)));
+    }
+
+    /**
+     * @param config the config
+     * @param fallback the decoder for objects and small arrays, and for every body when the JsonEngine isn't org.json
+     * @return a decoder for JsonNodes
+     */
+    static DecodedResponse.BufferDecoder<JsonNode> json(Config config, DecodedResponse.BufferDecoder<JsonNode> fallback) {
+        if (!(config.getJsonEngine() instanceof OrgJsonEngine)) {
+            return fallback;
+        }
+        return decoder(config, fallback, ParallelArrayDecoder::jsonValue, elements -> {
+            JSONArray array = new JSONArray();
+            for (Object e : elements) {
+                array.put(e);
+            }
+            return JsonNode.of(array);
+        });
+    }
+
+    private static Object jsonValue(String text) {
+        char first = text.charAt(0);
+        if (first != '{' && first != '[' && first != '"') {
+            // what the tokener would read as a bare value, it can't tell where one at the very end stops
+            if (text.chars().anyMatch(c -> ",:]}[{;=".indexOf(c) >= 0)) {
+                throw new JSONException("Expected a ',' or ']'");
+            }
+            return JSONObject.stringToValue(text);
+        }
+        JSONTokener tokener = new JSONTokener(text);
+        Object value = tokener.nextValue();
+        if (tokener.nextClean() != 0) {
+            throw tokener.syntaxError("Expected a ',' or ']'");
+        }
+        return value;
+    }
+
+    private static Class<?> listElement(Type type) {
+        if (!(type instanceof ParameterizedType)) {
+            return null;
+        }
+        ParameterizedType p = (ParameterizedType) type;
+        Type element = p.getActualTypeArguments()[0];
+        if (p.getRawType() instanceof Class
+                && ((Class<?>) p.getRawType()).isAssignableFrom(ArrayList.class)
+                && element instanceof Class) {
+            return (Class<?>) element;
+        }
+        return null;
+    }
+
+    private static <T> DecodedResponse.BufferDecoder<T> decoder(Config config,
+                                                               DecodedResponse.BufferDecoder<T> fallback,
+                                                               Function<String, Object> element,
+                                                               Function<Object[], T> assemble) {
+        long threshold = config.getParallelArrayThreshold();
+        if (threshold <= 0) {
+            return fallback;
+        }
+        return (bytes, charset) -> {
+            ForkJoinPool pool = config.getParallelDecodingPool();
+            // on a single core the slicing is pure overhead
+            Slices slices = bytes.remaining() < threshold || pool.getParallelism() < 2 ? null : split(bytes, charset);
+            if (slices == null) {
+                return fallback.decode(bytes, charset);
+            }
+            return assemble.apply(new Job(slices, element, pool.getParallelism()).run(pool));
+        };
+    }
+
+    /**
+     * Find the elements of a top level array. Commas only count outside of strings and at the first level of nesting.
+     * @param bytes the body
+     * @param charset the charset of the body
+     * @return the elements or null if the body can't be split
+     */
+    static Slices split(ByteBuffer bytes, Charset charset) {
+        if (!SCANNABLE.contains(charset)) {
+            return null;
+        }
+        int end = bytes.limit();
+        int i = skipBom(bytes, skipWhitespace(bytes, bytes.position(), end), end);
+        if (i >= end || bytes.get(i) != '[') {
+            return null;
+        }
+        Slices slices = new Slices(bytes, charset);
+        int close = scan(bytes, i, end, slices);
+        if (close < 0 || skipWhitespace(bytes, close + 1, end) != end) {
+            return null;
+        }
+        return slices.trim();
+    }
+
+    private static int scan(ByteBuffer bytes, int open, int end, Slices slices) {
+        int depth = 0;
+        boolean inString = false;
+        int start = open + 1;
+        for (int i = open; i < end; i++) {
+            byte b = bytes.get(i);
+            if (inString) {
+                if (b == '\\') {
+                    i++;
+                } else if (b == '"') {
+                    inString = false;
+                }
+            } else if (b == '"') {
+                inString = true;
+            } else if (b == '\'' || b == '/' || b == '#') {
+                // single quoted strings and comments are left to the lenient sequential parser
+                return -1;
+            } else if (b == '[' || b == '{') {
+                depth++;
+            } else if ((b == ']' || b == '}') && --depth == 0) {
+                slices.add(start, i);
+                return i;
+            } else if (b == ',' && depth == 1) {
+                slices.add(start, i);
+                start = i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipBom(ByteBuffer bytes, int i, int end) {
+        if (end - i >= 3 && bytes.get(i) == (byte) 0xEF && bytes.get(i + 1) == (byte) 0xBB && bytes.get(i + 2) == (byte) 0xBF) {
+            return skipWhitespace(bytes, i + 3, end);
+        }
+        return i;
+    }
+
+    private static int skipWhitespace(ByteBuffer bytes, int i, int end) {
+        while (i < end && isWhitespace(bytes.get(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    /**
+     * Start and end offsets of each element
+     */
+    static class Slices {
+        private final ByteBuffer bytes;
+        private final Charset charset;
+        private int[] offsets = new int[64];
+        private int count;
+
+        Slices(ByteBuffer bytes, Charset charset) {
+            this.bytes = bytes;
+            this.charset = charset;
+        }
+
+        private void add(int start, int end) {
+            if (count * 2 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[count * 2] = start;
+            offsets[count * 2 + 1] = end;
+            count++;
+        }
+
+        private Slices trim() {
+            for (int i = 0; i < count * 2; i += 2) {
+                int start = skipWhitespace(bytes, offsets[i], offsets[i + 1]);
+                int end = offsets[i + 1];
+                while (end > start && isWhitespace(bytes.get(end - 1))) {
+                    end--;
+                }
+                offsets[i] = start;
+                offsets[i + 1] = end;
+                if (start == end) {
+                    // only an empty array may have an empty element
+                    return count == 1 ? new Slices(bytes, charset) : null;
+                }
+            }
+            return this;
+        }
+
+        int size() {
+            return count;
+        }
+
+        String text(int index) {
+            int start = offsets[index * 2];
+            int length = offsets[index * 2 + 1] - start;
+            if (bytes.hasArray()) {
+                return new String(bytes.array(), bytes.arrayOffset() + start, length, charset);
+            }
+            ByteBuffer slice = bytes.duplicate();
+            slice.limit(start + length).position(start);
+            return charset.decode(slice).toString();
+        }
+    }
+
+    private static class Job {
+        private final Slices slices;
+        private final Function<String, Object> element;
+        private final Object[] results;
+        private final int grain;
+
+        Job(Slices slices, Function<String, Object> element, int parallelism) {
+            this.slices = slices;
+            this.element = element;
+            this.results = new Object[slices.count];
+            this.grain = Math.max(MIN_ELEMENTS_PER_TASK, slices.count / (parallelism * 4));
+        }
+
+        private Object[] run(ForkJoinPool pool) {
+            pool.invoke(new DecodeTask(0, slices.count));
+            return results;
+        }
+
+        private class DecodeTask extends RecursiveAction {
+            private final int from;
+            private final int to;
+
+            DecodeTask(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from <= grain) {
+                    for (int i = from; i < to; i++) {
+                        results[i] = element.apply(slices.text(i));
+                    }
+                } else {
+                    int middle = (from + to) >>> 1;
+                    invokeAll(new DecodeTask(from, middle), new DecodeTask(middle, to));
+                }
+            }
+        }
+    }
+}
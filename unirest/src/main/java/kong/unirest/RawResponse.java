@@ -27,6 +27,8 @@ package kong.unirest;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 
 public interface RawResponse {
     int getStatus();
@@ -40,4 +42,55 @@ public interface RawResponse {
     boolean hasContent();
     String getContentType();
     String getEncoding();
+
+    /**
+     * @return the charset to decode the content with. This is the charset named in the Content-Type header,
+     * or the configured default response encoding when there is none or it is not supported.
+     */
+    default Charset getContentCharset() {
+        return BodyBuffer.charset(RawResponseBase.getCharsetFromContentType(getContentType()), getConfig().getDefaultResponseEncoding());
+    }
+
+    /**
+     * @return the config the request was made with. Responses which don't know it use the config of the primary instance
+     */
+    default Config getConfig() {
+        return Unirest.config();
+    }
+
+    /**
+     * Read the content into a buffer. Implementations may read into a array from the Config's BufferPool
+     * which can be released back to it once the caller is done with it.
+     * @return the content as a heap ByteBuffer
+     */
+    default ByteBuffer getContentAsByteBuffer() {
+        return ByteBuffer.wrap(getContentAsBytes());
+    }
+
+    /**
+     * Throw the content away without keeping any of it. Remaining content of at most Config::responseDrainLimit
+     * bytes is read and discarded so the connection can be reused, anything larger or of unknown length
+     * aborts the connection instead.
+     */
+    default void discardContent() {
+    }
+
+    /**
+     * Take ownership of the content. Unlike getContent the connection will not be released once the response
+     * transformation is complete. Instead it stays leased until the returned stream is read to the end or closed.
+     * @return the content as a InputStream which must be closed by the caller
+     */
+    default InputStream detachContent() {
+        return getContent();
+    }
+
+    /**
+     * Take ownership of the content as a publisher of chunks. Like detachContent the connection is held until
+     * the body has been published to the end or the subscription is cancelled.
+     * Clients which can't push the content as it arrives publish the detached stream instead.
+     * @return a publisher which can be subscribed to once
+     */
+    default Flow.Publisher<ByteBuffer> getContentPublisher() {
+        return new InputStreamPublisher(detachContent());
+    }
 }
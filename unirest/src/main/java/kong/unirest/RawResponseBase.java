@@ -25,25 +25,45 @@
 
 package kong.unirest;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.charset.Charset;
+import java.util.Objects;
 
 public abstract class RawResponseBase implements RawResponse {
 
-    private static final Pattern CHARSET_PATTERN = Pattern.compile("(?i)\\bcharset=\\s*\"?([^\\s;\"]*)");
+    private static final String CHARSET = "charset=";
     protected Config config;
+    private volatile ParsedType parsed;
 
     protected RawResponseBase(Config config){
         this.config = config;
     }
 
     protected String getCharSet() {
+        return parsed().name;
+    }
+
+    @Override
+    public Charset getContentCharset() {
+        return parsed().charset();
+    }
+
+    @Override
+    public Config getConfig() {
+        return config;
+    }
+
+    /**
+     * The Content-Type is only parsed again if it, or the default response encoding, changes.
+     */
+    private ParsedType parsed() {
         String contentType = getContentType();
-        String responseCharset = getCharsetFromContentType(contentType);
-        if (responseCharset != null && !responseCharset.trim().equals("")) {
-            return responseCharset;
+        String defaultEncoding = config.getDefaultResponseEncoding();
+        ParsedType p = parsed;
+        if (p == null || !Objects.equals(p.contentType, contentType) || !Objects.equals(p.defaultEncoding, defaultEncoding)) {
+            p = new ParsedType(contentType, defaultEncoding);
+            parsed = p;
         }
-        return config.getDefaultResponseEncoding();
+        return p;
     }
 
     /**
@@ -52,16 +72,62 @@ public abstract class RawResponseBase implements RawResponse {
      * @param contentType e.g. "text/html; charset=EUC-JP"
      * @return "EUC-JP", or null if not found. Charset is trimmed and uppercased.
      */
-    private String getCharsetFromContentType(String contentType) {
+    static String getCharsetFromContentType(String contentType) {
         if (contentType == null) {
             return null;
         }
+        int at = -1;
+        do {
+            at = indexOfIgnoreCase(contentType, at + 1);
+        } while (at > 0 && isWordChar(contentType.charAt(at - 1)));
+        if (at < 0) {
+            return null;
+        }
+        int start = at + CHARSET.length();
+        while (start < contentType.length() && Character.isWhitespace(contentType.charAt(start))) {
+            start++;
+        }
+        if (start < contentType.length() && contentType.charAt(start) == '"') {
+            start++;
+        }
+        int end = start;
+        while (end < contentType.length() && ";\"".indexOf(contentType.charAt(end)) < 0 && !Character.isWhitespace(contentType.charAt(end))) {
+            end++;
+        }
+        return contentType.substring(start, end).toUpperCase();
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
 
-        Matcher m = CHARSET_PATTERN.matcher(contentType);
-        if (m.find()) {
-            return m.group(1).trim().toUpperCase();
+    private static int indexOfIgnoreCase(String contentType, int from) {
+        for (int i = from; i <= contentType.length() - CHARSET.length(); i++) {
+            if (contentType.regionMatches(true, i, CHARSET, 0, CHARSET.length())) {
+                return i;
+            }
         }
-        return null;
+        return -1;
     }
 
+    private static class ParsedType {
+        private final String contentType;
+        private final String defaultEncoding;
+        private final String name;
+        private Charset charset;
+
+        ParsedType(String contentType, String defaultEncoding) {
+            this.contentType = contentType;
+            this.defaultEncoding = defaultEncoding;
+            String fromHeader = getCharsetFromContentType(contentType);
+            this.name = fromHeader == null || fromHeader.isEmpty() ? defaultEncoding : fromHeader;
+        }
+
+        Charset charset() {
+            if (charset == null) {
+                charset = BodyBuffer.charset(name, defaultEncoding);
+            }
+            return charset;
+        }
+    }
 }
@@ -25,6 +25,8 @@
 
 package kong.unirest;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 public interface RequestBodyEntity extends HttpRequest<RequestBodyEntity>, Body {
@@ -34,5 +36,29 @@ public interface RequestBodyEntity extends HttpRequest<RequestBodyEntity>, Body
 
     RequestBodyEntity body(JsonNode jsonBody);
 
+    /**
+     * Stream the body from a InputStream of unknown length.
+     * The request will be sent with chunked transfer encoding.
+     * @param stream the InputStream to read the body from
+     * @return this request builder
+     */
+    RequestBodyEntity body(InputStream stream);
+
+    /**
+     * Stream the body from a InputStream of a known length.
+     * @param stream the InputStream to read the body from
+     * @param length the number of bytes to send or -1 if unknown
+     * @return this request builder
+     */
+    RequestBodyEntity body(InputStream stream, long length);
+
+    /**
+     * Send the remaining bytes of a ByteBuffer as the body without copying them.
+     * The buffer's position and limit are not modified. Direct buffers are written straight to the connection
+     * @param buffer the buffer containing the body
+     * @return this request builder
+     */
+    RequestBodyEntity body(ByteBuffer buffer);
+
     RequestBodyEntity charset(Charset charset);
 }
@@ -0,0 +1,88 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams of the elements of a response body. Elements are read from the connection one at a time as the
+ * stream is consumed. Closing the stream closes the content and with it gives the connection back.
+ */
+class ResponseStreams {
+    private ResponseStreams() {
+    }
+
+    static <T> Stream<T> json(InputStream content, Charset charset, ObjectMapper mapper, Class<T> type) {
+        BufferedReader reader = reader(content, charset);
+        JsonValueReader values = new JsonValueReader(reader);
+        Spliterator<T> elements = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                String value = next(values);
+                if (value == null) {
+                    return false;
+                }
+                action.accept(mapper.readValue(value, type));
+                return true;
+            }
+        };
+        return StreamSupport.stream(elements, false).onClose(() -> close(reader));
+    }
+
+    static Stream<String> lines(InputStream content, Charset charset) {
+        BufferedReader reader = reader(content, charset);
+        return reader.lines().onClose(() -> close(reader));
+    }
+
+    private static String next(JsonValueReader values) {
+        try {
+            return values.next();
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    private static BufferedReader reader(InputStream content, Charset charset) {
+        return new BufferedReader(new InputStreamReader(content, charset));
+    }
+
+    private static void close(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+}
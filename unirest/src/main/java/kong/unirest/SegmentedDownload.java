@@ -0,0 +1,225 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Downloads a file as several Range requests made at once, each written to its own part of the file.
+ * The server is probed with a HEAD request first, if it doesn't accept byte ranges or
+ * doesn't say how large the file is then the file is downloaded as a single stream instead.
+ * Segments are sent with an If-Range of the probe's ETag or Last-Modified, and each must come back as the
+ * Content-Range asked for, so a file which changes part way through fails the download rather than mixing versions.
+ * A failed download deletes the file it created.
+ */
+class SegmentedDownload {
+    private static final int MIN_SEGMENT_SIZE = 16 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int ATTEMPTS = 3;
+    private final BaseRequest<?> request;
+    private final Path target;
+    private final int segments;
+
+    SegmentedDownload(BaseRequest<?> request, Path target, int segments) {
+        this.request = request;
+        this.target = target;
+        this.segments = segments;
+    }
+
+    HttpResponse<File> download() {
+        HttpResponse<File> probe = request.config.getClient()
+                .request(copy(HttpMethod.HEAD), r -> new FileResponse(r, target.toFile()));
+        long length = contentLength(probe);
+        int count = (int) Math.min(Math.min(segments, request.config.getMaxPerRoutes()),
+                length / MIN_SEGMENT_SIZE);
+        if (!probe.isSuccess() || !"bytes".equalsIgnoreCase(probe.getHeaders().getFirst("Accept-Ranges")) || count < 2) {
+            return request.asFile(target.toString());
+        }
+        FileChannel created;
+        try {
+            created = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+        try (FileChannel channel = created) {
+            // preallocates the file so every segment can be written at its own position
+            channel.write(ByteBuffer.allocate(1), length - 1);
+            return new Transfer(channel, length, validator(probe)).run(count);
+        } catch (IOException | RuntimeException e) {
+            // the file was made by this download so nothing of a failed one is kept
+            target.toFile().delete();
+            throw e instanceof RuntimeException ? (RuntimeException) e : new UnirestException(e);
+        }
+    }
+
+    /**
+     * One download of the file. Every segment is fetched on its own thread and written at its own position,
+     * the bytes of each are counted against the length the probe gave.
+     */
+    private class Transfer {
+        private final FileChannel channel;
+        private final long length;
+        private final String validator;
+        private final AtomicLong written = new AtomicLong();
+
+        Transfer(FileChannel channel, long length, String validator) {
+            this.channel = channel;
+            this.length = length;
+            this.validator = validator;
+        }
+
+        HttpResponse<File> run(int count) {
+            ExecutorService pool = Executors.newFixedThreadPool(count);
+            try {
+                long size = (length + count - 1) / count;
+                List<CompletableFuture<Headers>> parts = new ArrayList<>();
+                for (long start = 0; start < length; start += size) {
+                    long from = start;
+                    long to = Math.min(start + size, length) - 1;
+                    parts.add(CompletableFuture.supplyAsync(() -> fetchWithRetry(from, to), pool));
+                }
+                CompletableFuture.allOf(parts.toArray(new CompletableFuture[0])).join();
+                if (written.get() != length) {
+                    throw new UnirestException("Downloaded " + written.get() + " bytes but expected " + length);
+                }
+                return response(parts.get(0).join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof UnirestException ? (UnirestException) e.getCause() : new UnirestException(e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        private Headers fetchWithRetry(long from, long to) {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return fetch(from, to);
+                } catch (RuntimeException e) {
+                    if (attempt == ATTEMPTS) {
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        private Headers fetch(long from, long to) {
+            BaseRequest<?> segment = copy(HttpMethod.GET);
+            segment.headerReplace("Range", "bytes=" + from + "-" + to);
+            if (!validator.isEmpty()) {
+                segment.headerReplace("If-Range", validator);
+            }
+            HttpResponse<File> response = request.config.getClient().request(segment, r -> {
+                check(r, from, to);
+                long count = write(r.getContent(), channel, from);
+                if (count != to - from + 1) {
+                    throw new UnirestException("Expected " + (to - from + 1) + " bytes for bytes " + from + "-" + to + " but got " + count);
+                }
+                return new FileResponse(r, target.toFile());
+            });
+            // with failuresAsResponses the client hands back failures rather than throwing them
+            if (response instanceof FailedResponse) {
+                throw ((FailedResponse<?>) response).rethrow();
+            }
+            written.addAndGet(to - from + 1);
+            return response.getHeaders();
+        }
+
+        // anything but the asked for range of a file of the probed length means the range was ignored or the file changed
+        private void check(RawResponse r, long from, long to) {
+            String range = r.getHeaders().getFirst("Content-Range").trim();
+            String expected = "bytes " + from + "-" + to + "/";
+            String total = range.startsWith(expected) ? range.substring(expected.length()) : "";
+            if (r.getStatus() != 206 || !(total.equals("*") || total.equals(Long.toString(length)))) {
+                throw new UnirestException("Expected bytes " + from + "-" + to + " of " + length
+                        + " but got a " + r.getStatus() + " with a Content-Range of '" + range + "'");
+            }
+        }
+
+        // the download answers as a GET of the whole file would, with the headers of the first segment
+        private HttpResponse<File> response(Headers first) {
+            Headers headers = new Headers();
+            first.all().stream()
+                    .filter(h -> !"Content-Range".equalsIgnoreCase(h.getName()) && !"Content-Length".equalsIgnoreCase(h.getName()))
+                    .forEach(h -> headers.add(h.getName(), h.getValue()));
+            headers.add("Content-Length", Long.toString(length));
+            return new FileResponse(200, "OK", headers, target.toFile());
+        }
+    }
+
+    private static long write(InputStream in, FileChannel channel, long from) {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long position = from;
+        try {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    position += channel.write(chunk, position);
+                }
+            }
+            return position - from;
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    // ranges apply to the encoded body so every request asks for it as is
+    private BaseRequest<?> copy(HttpMethod method) {
+        HttpRequestNoBody copy = new HttpRequestNoBody(request, method);
+        copy.headerReplace("Accept-Encoding", "identity");
+        return copy;
+    }
+
+    // with If-Range the server sends the whole file rather than a range when it changed since the probe
+    private static String validator(HttpResponse<?> probe) {
+        String etag = probe.getHeaders().getFirst("ETag").trim();
+        if (!etag.isEmpty() && !etag.startsWith("W/")) {
+            return etag;
+        }
+        return probe.getHeaders().getFirst("Last-Modified").trim();
+    }
+
+    private static long contentLength(HttpResponse<?> probe) {
+        try {
+            return Long.parseLong(probe.getHeaders().getFirst("Content-Length").trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+/**
+ * Receives the events of an EventSource. Every method is called on the thread reading the stream,
+ * so the next event is not read until onEvent returns.
+ */
+public interface SseListener {
+    /**
+     * @param event an event
+     */
+    void onEvent(ServerSentEvent event);
+
+    /**
+     * The connection could not be made or dropped part way. The source reconnects after the retry delay.
+     * @param error the reason
+     */
+    default void onError(Throwable error) {
+    }
+
+    /**
+     * The source has stopped for good. Either it was closed, the server responded with a 204,
+     * or the server responded with something other than a event stream.
+     * @param cause the reason the server response was rejected or null if it was closed normally
+     */
+    default void onClosed(Throwable cause) {
+    }
+}
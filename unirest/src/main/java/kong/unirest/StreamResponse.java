@@ -0,0 +1,61 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.InputStream;
+import java.util.function.Function;
+
+/**
+ * A response whose body is still attached to the connection.
+ * The connection stays leased to this response until the body has been read to the end or the response is closed.
+ * Closing before the end will either drain the remaining bytes (so the connection can be reused)
+ * or abort the connection depending on Config::responseDrainLimit
+ * @param <T> the type of the body (an InputStream, a Channel or a Stream of elements)
+ */
+public class StreamResponse<T extends AutoCloseable> extends BaseResponse<T> implements AutoCloseable {
+    private final T body;
+
+    StreamResponse(RawResponse response, Function<InputStream, T> wrapper) {
+        super(response);
+        this.body = wrapper.apply(response.detachContent());
+    }
+
+    @Override
+    public T getBody() {
+        return body;
+    }
+
+    @Override
+    public void close() {
+        try {
+            body.close();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new UnirestException(e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A body serialized by the ObjectMapper. It is held as UTF-8 and only re-encoded if the request
+ * ends up with some other charset.
+ */
+class UniObjectBody extends BodyPart {
+    UniObjectBody(Object value, ObjectMapper mapper) {
+        super(serialize(value, mapper), null, null);
+    }
+
+    private static byte[] serialize(Object value, ObjectMapper mapper) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mapper.writeValue(value, out);
+        return out.toByteArray();
+    }
+
+    @Override
+    public byte[] getBytes(Charset charset) {
+        byte[] utf8 = (byte[]) getValue();
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return utf8;
+        }
+        return new String(utf8, StandardCharsets.UTF_8).getBytes(charset);
+    }
+
+    @Override
+    public boolean isFile() {
+        return false;
+    }
+}
@@ -44,6 +44,16 @@ public class UnirestException extends RuntimeException {
 		super(ex);
 	}
 
+	/**
+	 * @param msg the message, or null to use the cause's
+	 * @param cause the cause
+	 * @param stackTrace false for exceptions which are cheap to make because they don't fill in a stack trace.
+	 *                   They don't keep suppressed exceptions either
+	 */
+	protected UnirestException(String msg, Throwable cause, boolean stackTrace) {
+		super(msg == null && cause != null ? cause.toString() : msg, cause, stackTrace, stackTrace);
+	}
+
 	public UnirestException(Collection<Exception> ex) {
 		super(ex.stream().map(e -> e.getClass().getName() + " " + e.getMessage()).collect(Collectors.joining("\n")));
 	}
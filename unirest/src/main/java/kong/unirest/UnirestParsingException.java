@@ -33,6 +33,11 @@ public class UnirestParsingException extends UnirestException {
         this.originalBody = originalBody;
     }
 
+    UnirestParsingException(String originalBody, Exception e, boolean stackTrace) {
+        super(null, e, stackTrace);
+        this.originalBody = originalBody;
+    }
+
     public String getOriginalBody() {
         return originalBody;
     }
@@ -25,8 +25,13 @@
 
 package kong.unirest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.charset.Charset;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -55,4 +60,18 @@ class Util {
     static boolean isNullOrEmpty(String s) {
         return s == null || s.trim().isEmpty();
     }
+
+    static String readString(InputStream stream, Charset charset) {
+        try (Reader reader = new InputStreamReader(stream, charset)) {
+            StringBuilder sb = new StringBuilder();
+            char[] buffer = new char[4096];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                sb.append(buffer, 0, read);
+            }
+            return sb.toString();
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
 }
@@ -33,11 +33,20 @@ import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
 import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
 import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
 import org.apache.http.nio.reactor.IOReactorException;
 
+import java.io.File;
+import java.nio.file.Path;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 
@@ -103,25 +112,237 @@ public class ApacheAsyncClient extends BaseApacheClient implements AsyncClient {
 
         HttpUriRequest requestObj = new RequestPrep(request, config, true).prepare();
 
-        client.execute(requestObj, new FutureCallback<org.apache.http.HttpResponse>() {
+        FutureCallback<org.apache.http.HttpResponse> completion = new FutureCallback<org.apache.http.HttpResponse>() {
                     @Override
                     public void completed(org.apache.http.HttpResponse httpResponse) {
-                        callback.complete(transformer.apply(new ApacheResponse(httpResponse, config)));
+                        Util.closeBody(requestObj);
+                        dispatch(callback, () -> complete(callback, () -> transformer.apply(new ApacheResponse(httpResponse, config))));
                     }
 
                     @Override
                     public void failed(Exception e) {
-                        callback.completeExceptionally(e);
+                        Util.closeBody(requestObj);
+                        Throwable cause = e.getCause() instanceof ResponseTooLargeException ? e.getCause() : e;
+                        dispatch(callback, () -> fail(callback, cause));
                     }
 
                     @Override
                     public void cancelled() {
-                        callback.completeExceptionally(new UnirestException("canceled"));
+                        Util.closeBody(requestObj);
+                        dispatch(callback, () -> cancel(callback));
                     }
-                });
+                };
+        if (config.getResponseSpillThreshold() > 0 || config.getMaxResponseSize() > 0) {
+            client.execute(HttpAsyncMethods.create(requestObj), new SpillingResponseConsumer(config), completion);
+        } else {
+            client.execute(requestObj, completion);
+        }
+        return callback;
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> stream(
+            HttpRequest request,
+            Function<RawResponse, HttpResponse<T>> transformer,
+            CompletableFuture<HttpResponse<T>> callback) {
+
+        Objects.requireNonNull(callback);
+
+        HttpUriRequest requestObj = new RequestPrep(request, config, true).prepare();
+        AtomicBoolean handedOver = new AtomicBoolean();
+        StreamingResponseConsumer consumer = new StreamingResponseConsumer(config, onHead(transformer, callback, handedOver));
+
+        Future<org.apache.http.HttpResponse> exchange = client.execute(HttpAsyncMethods.create(requestObj), consumer,
+                streamCompletion(requestObj, callback, handedOver));
+        consumer.setExchange(exchange);
+        return callback;
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> publish(
+            HttpRequest request,
+            Function<RawResponse, HttpResponse<T>> transformer,
+            CompletableFuture<HttpResponse<T>> callback) {
+
+        Objects.requireNonNull(callback);
+
+        // chunks are published as they come off the wire so ask for them without compression,
+        // a body which is compressed anyway fails the subscription
+        boolean encodingSet = request.getHeaders().containsKey("Accept-Encoding");
+        HttpUriRequest requestObj = new RequestPrep(request, config, true).prepare();
+        if (!encodingSet) {
+            requestObj.setHeader("Accept-Encoding", "identity");
+        }
+        AtomicBoolean handedOver = new AtomicBoolean();
+        PublishingResponseConsumer consumer = new PublishingResponseConsumer(config, onHead(transformer, callback, handedOver));
+
+        Future<org.apache.http.HttpResponse> exchange = client.execute(HttpAsyncMethods.create(requestObj), consumer,
+                streamCompletion(requestObj, callback, handedOver));
+        consumer.setExchange(exchange);
+        return callback;
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> discard(
+            HttpRequest request,
+            Function<RawResponse, HttpResponse<T>> transformer,
+            CompletableFuture<HttpResponse<T>> callback) {
+
+        Objects.requireNonNull(callback);
+
+        HttpUriRequest requestObj = new RequestPrep(request, config, true).prepare();
+        AtomicBoolean handedOver = new AtomicBoolean();
+        client.execute(HttpAsyncMethods.create(requestObj),
+                new DiscardingResponseConsumer(config, onHead(transformer, callback, handedOver)),
+                streamCompletion(requestObj, callback, handedOver));
+        return callback;
+    }
+
+    // transforms the response as soon as the head arrives, the body is handled by the consumer after that.
+    // once the response is handed over, later failures of the exchange belong to the body and not the future
+    private <T> Consumer<RawResponse> onHead(Function<RawResponse, HttpResponse<T>> transformer,
+                                             CompletableFuture<HttpResponse<T>> callback,
+                                             AtomicBoolean handedOver) {
+        return raw -> {
+            try {
+                HttpResponse<T> response = transformer.apply(raw);
+                handedOver.set(true);
+                dispatch(callback, () -> callback.complete(response));
+            } catch (RuntimeException e) {
+                fail(callback, e);
+                throw e;
+            }
+        };
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<File>> download(HttpRequest request, Path target, DownloadMode mode,
+                                                        CompletableFuture<HttpResponse<File>> callback) {
+        Objects.requireNonNull(callback);
+
+        // the body is written as it comes off the wire so ask for it without compression,
+        // a body which is compressed anyway fails the download
+        boolean encodingSet = request.getHeaders().containsKey("Accept-Encoding");
+        HttpUriRequest requestObj = new RequestPrep(request, config, true).prepare();
+        if (!encodingSet) {
+            requestObj.setHeader("Accept-Encoding", "identity");
+        }
+        FileDownloadConsumer consumer = new FileDownloadConsumer(target, mode);
+        client.execute(HttpAsyncMethods.create(requestObj), consumer,
+                downloadCompletion(requestObj, consumer, target, callback));
         return callback;
     }
 
+    private FutureCallback<org.apache.http.HttpResponse> downloadCompletion(HttpUriRequest requestObj,
+                                                                             FileDownloadConsumer consumer,
+                                                                             Path target,
+                                                                             CompletableFuture<HttpResponse<File>> callback) {
+        FutureCallback<org.apache.http.HttpResponse> failures = streamCompletion(requestObj, callback, new AtomicBoolean());
+        return new FutureCallback<org.apache.http.HttpResponse>() {
+            @Override
+            public void completed(org.apache.http.HttpResponse httpResponse) {
+                Util.closeBody(requestObj);
+                consumer.whenWritten().whenComplete((v, e) -> dispatch(callback, () -> {
+                    if (e != null) {
+                        fail(callback, e);
+                    } else {
+                        callback.complete(new FileResponse(new ApacheResponse(httpResponse, config), target.toFile()));
+                    }
+                }));
+            }
+
+            @Override
+            public void failed(Exception e) {
+                failures.failed(e);
+            }
+
+            @Override
+            public void cancelled() {
+                failures.cancelled();
+            }
+        };
+    }
+
+    // by the time the exchange completes the response has already been passed on by the consumer
+    private <T> FutureCallback<org.apache.http.HttpResponse> streamCompletion(HttpUriRequest requestObj,
+                                                                               CompletableFuture<HttpResponse<T>> callback,
+                                                                               AtomicBoolean handedOver) {
+        return new FutureCallback<org.apache.http.HttpResponse>() {
+            @Override
+            public void completed(org.apache.http.HttpResponse httpResponse) {
+                Util.closeBody(requestObj);
+            }
+
+            @Override
+            public void failed(Exception e) {
+                Util.closeBody(requestObj);
+                if (!handedOver.get()) {
+                    fail(callback, e);
+                }
+            }
+
+            @Override
+            public void cancelled() {
+                Util.closeBody(requestObj);
+                if (!handedOver.get()) {
+                    cancel(callback);
+                }
+            }
+        };
+    }
+
+    private <T> void complete(CompletableFuture<HttpResponse<T>> callback, Supplier<HttpResponse<T>> response) {
+        HttpResponse<T> result;
+        try {
+            result = response.get();
+        } catch (RuntimeException e) {
+            if (!config.isFailuresAsResponses()) {
+                throw e;
+            }
+            result = new FailedResponse<>(e);
+        }
+        callback.complete(result);
+    }
+
+    // with Config::failuresAsResponses the failure becomes the response instead
+    private <T> void fail(CompletableFuture<HttpResponse<T>> callback, Throwable failure) {
+        if (config.isFailuresAsResponses()) {
+            callback.complete(new FailedResponse<>(failure));
+        } else {
+            callback.completeExceptionally(failure);
+        }
+    }
+
+    private <T> void cancel(CompletableFuture<HttpResponse<T>> callback) {
+        if (config.isFailuresAsResponses()) {
+            callback.complete(FailedResponse.cancelled());
+        } else {
+            callback.completeExceptionally(new UnirestException("canceled"));
+        }
+    }
+
+    // completes the future (and so runs the callbacks) on the configured executor, or inline when there isn't one.
+    // an executor which rejects the work fails the future like any other failure
+    private <T> void dispatch(CompletableFuture<HttpResponse<T>> callback, Runnable completion) {
+        Runnable guarded = () -> {
+            try {
+                completion.run();
+            } catch (RuntimeException e) {
+                fail(callback, e);
+            }
+        };
+        Executor executor = config.getAsyncResponseExecutor();
+        if (executor == null) {
+            guarded.run();
+            return;
+        }
+        try {
+            executor.execute(guarded);
+        } catch (RejectedExecutionException e) {
+            fail(callback, e);
+        }
+    }
+
     @Override
     public boolean isRunning() {
         return Util.tryCast(client, CloseableHttpAsyncClient.class)
@@ -31,6 +31,7 @@ import org.apache.http.NameValuePair;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.entity.BasicHttpEntity;
 import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.entity.mime.HttpMultipartMode;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
@@ -39,6 +40,8 @@ import org.apache.http.message.BasicNameValuePair;
 
 import java.io.File;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -70,8 +73,16 @@ class ApacheBodyMapper {
 
     private HttpEntity mapToUniBody(Body b) {
         BodyPart bodyPart = b.uniPart();
+        byte[] serialized = bodyPart.getBytes(b.getCharset() == null ? StandardCharsets.ISO_8859_1 : b.getCharset());
         if(String.class.isAssignableFrom(bodyPart.getPartType())){
             return new StringEntity((String) bodyPart.getValue(), b.getCharset());
+        } else if (serialized != null) {
+            // same content type and encoding a StringEntity would have used
+            return new ByteArrayEntity(serialized, org.apache.http.entity.ContentType.create("text/plain", b.getCharset()));
+        } else if (bodyPart.isStream()) {
+            return new InputStreamEntity((InputStream) bodyPart.getValue(), bodyPart.getLength());
+        } else if (is(bodyPart, ByteBuffer.class)) {
+            return new ByteBufferEntity((ByteBuffer) bodyPart.getValue());
         } else {
             return new ByteArrayEntity((byte[])bodyPart.getValue());
         }
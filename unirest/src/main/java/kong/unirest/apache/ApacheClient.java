@@ -55,9 +55,8 @@ public class ApacheClient extends BaseApacheClient implements Client {
                 .setConnectionManager(manager)
                 .useSystemProperties();
 
-        if(!config.isRequestCompressionOn()) {
-            cb.disableContentCompression();
-        }
+        // responses are decoded by ApacheResponse the same way for both clients
+        cb.disableContentCompression();
         if(config.useSystemProperties()){
             cb.useSystemProperties();
         }
@@ -84,15 +83,23 @@ public class ApacheClient extends BaseApacheClient implements Client {
 
         HttpRequestBase requestObj = new RequestPrep(request, config, false).prepare();
 
+        boolean leased = false;
         try {
             org.apache.http.HttpResponse execute = client.execute(requestObj);
-            HttpResponse<T> httpResponse = transformer.apply(new ApacheResponse(execute, config));
-            requestObj.releaseConnection();
+            ApacheResponse raw = new ApacheResponse(execute, config, requestObj::abort);
+            HttpResponse<T> httpResponse = transformer.apply(raw);
+            leased = raw.isDetached();
             return httpResponse;
         } catch (Exception e) {
-            throw new UnirestException(e);
+            if (config.isFailuresAsResponses()) {
+                return new FailedResponse<>(e);
+            }
+            throw e instanceof ResponseTooLargeException ? (ResponseTooLargeException) e : new UnirestException(e);
         } finally {
-            requestObj.releaseConnection();
+            if (!leased) {
+                requestObj.releaseConnection();
+            }
+            Util.closeBody(requestObj);
         }
     }
 
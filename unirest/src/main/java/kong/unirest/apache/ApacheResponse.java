@@ -32,15 +32,30 @@ import org.apache.http.HttpResponse;
 import org.apache.http.util.EntityUtils;
 
 import java.io.*;
-import java.util.stream.Stream;
-import java.util.zip.GZIPInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 
 class ApacheResponse extends RawResponseBase {
     private final HttpResponse r;
+    private final HttpEntity entity;
+    private final Runnable abort;
+    private final Flow.Publisher<ByteBuffer> publisher;
+    private boolean detached;
 
     public ApacheResponse(HttpResponse r, Config config) {
+        this(r, config, () -> {});
+    }
+
+    ApacheResponse(HttpResponse r, Config config, Runnable abort) {
+        this(r, config, abort, null);
+    }
+
+    ApacheResponse(HttpResponse r, Config config, Runnable abort, Flow.Publisher<ByteBuffer> publisher) {
         super(config);
         this.r = r;
+        this.entity = DecodingEntity.decode(r.getEntity(), config);
+        this.abort = abort;
+        this.publisher = publisher;
     }
 
     @Override
@@ -55,16 +70,12 @@ class ApacheResponse extends RawResponseBase {
 
     @Override
     public Headers getHeaders() {
-        Headers h = new Headers();
-        Stream.of(r.getAllHeaders())
-                .forEachOrdered(e -> h.add(e.getName(), e.getValue()));
-        return h;
+        return new Headers(() -> new HeaderView(r.getAllHeaders()));
     }
 
     @Override
     public InputStream getContent() {
         try {
-            HttpEntity entity = r.getEntity();
             if (entity != null) {
                 return entity.getContent();
             }
@@ -75,16 +86,62 @@ class ApacheResponse extends RawResponseBase {
     }
 
     @Override
-    public byte[] getContentAsBytes() {
+    public InputStream detachContent() {
+        detached = true;
         if (!hasContent()) {
-            return new byte[0];
+            return new ByteArrayInputStream(new byte[0]);
         }
         try {
-            InputStream is = getContent();
-            if (isGzipped(getEncoding())) {
-                is = new GZIPInputStream(getContent());
+            HttpEntity raw = r.getEntity();
+            InputStream stream = new ResponseStream(raw.getContent(), raw.getContentLength(),
+                    config.getResponseDrainLimit(), abort);
+            if (entity instanceof DecodingEntity) {
+                // decompresses lazily so nothing is read from the connection until the caller does
+                stream = ((DecodingEntity) entity).decode(stream);
             }
-            return getBytes(is);
+            return stream;
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    @Override
+    public void discardContent() {
+        HttpEntity raw = r.getEntity();
+        if (raw == null) {
+            return;
+        }
+        long remaining = raw.getContentLength();
+        if (remaining >= 0 && remaining <= config.getResponseDrainLimit()) {
+            EntityUtils.consumeQuietly(raw);
+        } else {
+            abort.run();
+        }
+    }
+
+    @Override
+    public Flow.Publisher<ByteBuffer> getContentPublisher() {
+        if (publisher == null) {
+            return super.getContentPublisher();
+        }
+        detached = true;
+        return publisher;
+    }
+
+    boolean isDetached() {
+        return detached;
+    }
+
+    @Override
+    public byte[] getContentAsBytes() {
+        if (!hasContent()) {
+            return new byte[0];
+        }
+        try (InputStream is = limited()) {
+            return config.getBufferPool().readAll(is, expectedLength());
+        } catch (ResponseTooLargeException e) {
+            abort.run();
+            throw e;
         } catch (IOException e2) {
             throw new UnirestException(e2);
         } finally {
@@ -92,6 +149,34 @@ class ApacheResponse extends RawResponseBase {
         }
     }
 
+    @Override
+    public ByteBuffer getContentAsByteBuffer() {
+        if (!hasContent()) {
+            return ByteBuffer.allocate(0);
+        }
+        if (entity instanceof SpilledEntity) {
+            return ((SpilledEntity) entity).getBuffer();
+        }
+        try (InputStream is = limited()) {
+            return ResponseBuffers.read(is, expectedLength(), config);
+        } catch (ResponseTooLargeException e) {
+            abort.run();
+            throw e;
+        } catch (IOException e2) {
+            throw new UnirestException(e2);
+        } finally {
+            EntityUtils.consumeQuietly(r.getEntity());
+        }
+    }
+
+    private InputStream limited() throws IOException {
+        return ResponseBuffers.limit(entity.getContent(), r.getEntity().getContentLength(), config.getMaxResponseSize());
+    }
+
+    private long expectedLength() {
+        return entity.getContentLength();
+    }
+
     @Override
     public String getContentAsString() {
         return getContentAsString(null);
@@ -102,24 +187,29 @@ class ApacheResponse extends RawResponseBase {
         if (!hasContent()) {
             return "";
         }
+        Charset charSet = getCharset(charset);
+        ByteBuffer buffer = getContentAsByteBuffer();
         try {
-            String charSet = getCharset(charset);
-            return new String(getContentAsBytes(), charSet);
-        } catch (IOException e) {
-            throw new UnirestException(e);
+            return ResponseBuffers.decode(buffer, charSet);
+        } finally {
+            config.getBufferPool().release(buffer);
         }
     }
 
-    private String getCharset(String charset) {
+    private Charset getCharset(String charset) {
         if (charset == null || charset.trim().isEmpty()) {
-            return getCharSet();
+            return getContentCharset();
+        }
+        try {
+            return Charset.forName(charset.trim());
+        } catch (IllegalArgumentException e) {
+            return getContentCharset();
         }
-        return charset;
     }
 
     @Override
     public InputStreamReader getContentReader() {
-        return new InputStreamReader(getContent());
+        return new InputStreamReader(getContent(), getContentCharset());
     }
 
     @Override
@@ -148,32 +238,4 @@ class ApacheResponse extends RawResponseBase {
         }
         return "";
     }
-
-    private static byte[] getBytes(InputStream is) throws IOException {
-        try {
-            int len;
-            int size = 1024;
-            byte[] buf;
-
-            if (is instanceof ByteArrayInputStream) {
-                size = is.available();
-                buf = new byte[size];
-                len = is.read(buf, 0, size);
-            } else {
-                ByteArrayOutputStream bos = new ByteArrayOutputStream();
-                buf = new byte[size];
-                while ((len = is.read(buf, 0, size)) != -1) {
-                    bos.write(buf, 0, len);
-                }
-                buf = bos.toByteArray();
-            }
-            return buf;
-        } finally {
-            is.close();
-        }
-    }
-
-    private static boolean isGzipped(String value) {
-        return "gzip".equalsIgnoreCase(value.toLowerCase().trim());
-    }
 }
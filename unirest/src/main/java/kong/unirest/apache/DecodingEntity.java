@@ -0,0 +1,171 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import kong.unirest.Config;
+import kong.unirest.ContentDecoder;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decodes response content with the ContentDecoders registered on the Config. Both clients leave content
+ * encoded on the wire and every response is decoded here, so the stream, reader, bytes and string of a
+ * response all see the same content. Content with several codings is decoded in the reverse order they were applied.
+ * The encoding header is kept on the wrapped entity so callers can still tell how it arrived.
+ */
+class DecodingEntity extends HttpEntityWrapper {
+    private final List<ContentDecoder> decoders;
+
+    private DecodingEntity(HttpEntity entity, List<ContentDecoder> decoders) {
+        super(entity);
+        this.decoders = decoders;
+    }
+
+    /**
+     * @param entity a response entity, may be null
+     * @param config the config with the registered decoders
+     * @return an entity with decoded content or the entity as is if there is nothing it knows how to decode
+     */
+    static HttpEntity decode(HttpEntity entity, Config config) {
+        if (entity == null || entity.getContentLength() == 0) {
+            return entity;
+        }
+        List<ContentDecoder> decoders = decodersFor(entity.getContentEncoding(), config);
+        if (decoders.isEmpty()) {
+            return entity;
+        }
+        return new DecodingEntity(entity, decoders);
+    }
+
+    // content with a coding that can't be decoded is left as it is
+    private static List<ContentDecoder> decodersFor(Header encoding, Config config) {
+        if (encoding == null) {
+            return Collections.emptyList();
+        }
+        List<ContentDecoder> decoders = new ArrayList<>();
+        for (String coding : encoding.getValue().split(",")) {
+            if (coding.trim().isEmpty() || coding.trim().equalsIgnoreCase("identity")) {
+                continue;
+            }
+            Optional<ContentDecoder> decoder = config.getContentDecoder(coding);
+            if (!decoder.isPresent()) {
+                return Collections.emptyList();
+            }
+            decoders.add(decoder.get());
+        }
+        return decoders;
+    }
+
+    /**
+     * @param encoded the encoded content
+     * @return the decoded content. Decoders are not started until the first read, so nothing is read before then
+     */
+    InputStream decode(InputStream encoded) {
+        InputStream stream = encoded;
+        for (int i = decoders.size() - 1; i >= 0; i--) {
+            stream = new DeferredStream(decoders.get(i), stream);
+        }
+        return stream;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return decode(wrappedEntity.getContent());
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public Header getContentEncoding() {
+        return null;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        try (InputStream in = getContent()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    // many decoders read a header as soon as they are made, which must not happen on the I/O dispatcher
+    private static class DeferredStream extends InputStream {
+        private final ContentDecoder decoder;
+        private final InputStream encoded;
+        private InputStream decoded;
+
+        DeferredStream(ContentDecoder decoder, InputStream encoded) {
+            this.decoder = decoder;
+            this.encoded = encoded;
+        }
+
+        private InputStream decoded() throws IOException {
+            if (decoded == null) {
+                decoded = decoder.decode(encoded);
+            }
+            return decoded;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return decoded().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return decoded().read(b, off, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return decoded == null ? 0 : decoded.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (decoded != null) {
+                decoded.close();
+            } else {
+                encoded.close();
+            }
+        }
+    }
+}
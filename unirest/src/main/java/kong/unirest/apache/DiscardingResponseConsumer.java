@@ -0,0 +1,96 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import kong.unirest.Config;
+import kong.unirest.RawResponse;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.ContentType;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * A async response consumer for responses whose body is not wanted. The response is handed over as soon as
+ * the head arrives. Bodies of at most Config::responseDrainLimit bytes are then read into a small reused
+ * buffer and dropped so the connection goes back to the pool. Larger bodies, or bodies of unknown length,
+ * close the connection instead of reading them.
+ */
+class DiscardingResponseConsumer extends AbstractAsyncResponseConsumer<HttpResponse> {
+    private final ByteBuffer sink = ByteBuffer.allocate(8192);
+    private final Config config;
+    private final Consumer<RawResponse> onHead;
+    private HttpResponse response;
+    private boolean abort;
+
+    DiscardingResponseConsumer(Config config, Consumer<RawResponse> onHead) {
+        this.config = config;
+        this.onHead = onHead;
+    }
+
+    @Override
+    protected void onResponseReceived(HttpResponse httpResponse) {
+        this.response = httpResponse;
+        // the head is passed on without the entity so nothing downstream waits on the body
+        BasicHttpResponse head = new BasicHttpResponse(httpResponse.getStatusLine());
+        head.setHeaders(httpResponse.getAllHeaders());
+        onHead.accept(new ApacheResponse(head, config));
+    }
+
+    @Override
+    protected void onEntityEnclosed(HttpEntity entity, ContentType contentType) {
+        long remaining = entity.getContentLength();
+        abort = remaining < 0 || remaining > config.getResponseDrainLimit();
+    }
+
+    @Override
+    protected void onContentReceived(ContentDecoder decoder, IOControl ioctrl) throws IOException {
+        if (abort) {
+            ioctrl.shutdown();
+            return;
+        }
+        while (decoder.read(sink) > 0) {
+            sink.clear();
+        }
+    }
+
+    @Override
+    protected HttpResponse buildResult(HttpContext context) {
+        return response;
+    }
+
+    @Override
+    protected void releaseResources() {
+        response = null;
+    }
+}
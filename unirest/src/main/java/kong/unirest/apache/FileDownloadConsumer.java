@@ -0,0 +1,196 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import kong.unirest.DownloadMode;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A async response consumer which writes the body to a file as it arrives.
+ * Each chunk is handed to a AsynchronousFileChannel and input from the socket is suspended until
+ * the write completes, so at most one buffer is held and the I/O reactor never waits on the disk.
+ * The exchange may complete before the last chunk is on disk; whenWritten completes once it is.
+ */
+class FileDownloadConsumer extends AbstractAsyncResponseConsumer<HttpResponse> {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final Path target;
+    private final DownloadMode mode;
+    private final CompletableFuture<Void> written = new CompletableFuture<>();
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private HttpResponse response;
+    private AsynchronousFileChannel channel;
+    private volatile long position;
+    private volatile Throwable writeFailure;
+    private boolean writing;
+    private boolean ended;
+
+    FileDownloadConsumer(Path target, DownloadMode mode) {
+        this.target = target;
+        this.mode = mode;
+    }
+
+    @Override
+    protected void onResponseReceived(HttpResponse httpResponse) throws IOException {
+        this.response = httpResponse;
+        int status = httpResponse.getStatusLine().getStatusCode();
+        if (!mode.writes(status)) {
+            return;
+        }
+        Util.requireIdentity(httpResponse);
+        Header range = httpResponse.getFirstHeader("Content-Range");
+        String contentRange = range == null ? "" : range.getValue();
+        long existing = target.toFile().length();
+        if (!mode.continues(status, contentRange, existing)) {
+            throw new IOException("Can't resume " + target + " from byte " + existing
+                    + " with a Content-Range of '" + contentRange + "'");
+        }
+        channel = AsynchronousFileChannel.open(target, mode.openOptions(status).toArray(new OpenOption[0]));
+        position = mode.appends(status) ? channel.size() : 0;
+    }
+
+    @Override
+    protected void onEntityEnclosed(HttpEntity entity, ContentType contentType) {
+        // the content is written as it is received
+    }
+
+    @Override
+    protected void onContentReceived(ContentDecoder decoder, IOControl ioctrl) throws IOException {
+        if (writeFailure != null) {
+            throw new IOException("Could not write to " + target, writeFailure);
+        }
+        decoder.read(buffer);
+        if (buffer.position() == 0) {
+            return;
+        }
+        if (channel == null) {
+            buffer.clear();
+            return;
+        }
+        buffer.flip();
+        boolean more = !decoder.isCompleted();
+        if (more) {
+            ioctrl.suspendInput();
+        }
+        write(ioctrl, more);
+    }
+
+    private void write(IOControl ioctrl, boolean more) {
+        synchronized (this) {
+            writing = true;
+        }
+        channel.write(buffer, position, null, new CompletionHandler<Integer, Void>() {
+            @Override
+            public void completed(Integer count, Void attachment) {
+                position += count;
+                if (buffer.hasRemaining()) {
+                    channel.write(buffer, position, null, this);
+                    return;
+                }
+                buffer.clear();
+                writeDone(ioctrl, more);
+            }
+
+            @Override
+            public void failed(Throwable e, Void attachment) {
+                writeFailure = e;
+                writeDone(ioctrl, more);
+            }
+        });
+    }
+
+    private void writeDone(IOControl ioctrl, boolean more) {
+        synchronized (this) {
+            writing = false;
+            if (ended) {
+                finish();
+            }
+        }
+        if (more) {
+            ioctrl.requestInput();
+        }
+    }
+
+    @Override
+    protected HttpResponse buildResult(HttpContext context) {
+        synchronized (this) {
+            ended = true;
+            if (!writing) {
+                finish();
+            }
+        }
+        return response;
+    }
+
+    private void finish() {
+        closeChannel();
+        if (writeFailure != null) {
+            written.completeExceptionally(writeFailure);
+        } else {
+            written.complete(null);
+        }
+    }
+
+    @Override
+    protected synchronized void releaseResources() {
+        if (!ended) {
+            closeChannel();
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            if (writeFailure == null) {
+                writeFailure = e;
+            }
+        }
+    }
+
+    /**
+     * @return a future which completes once everything received has been written to the file
+     */
+    CompletableFuture<Void> whenWritten() {
+        return written;
+    }
+}
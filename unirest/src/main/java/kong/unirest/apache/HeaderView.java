@@ -0,0 +1,70 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import kong.unirest.Header;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A read only list over the headers of an Apache message without copying them.
+ */
+class HeaderView extends AbstractList<Header> implements RandomAccess {
+    private final org.apache.http.Header[] headers;
+
+    HeaderView(org.apache.http.Header[] headers) {
+        this.headers = headers;
+    }
+
+    @Override
+    public Header get(int index) {
+        return new Entry(headers[index]);
+    }
+
+    @Override
+    public int size() {
+        return headers.length;
+    }
+
+    private static class Entry implements Header {
+        private final org.apache.http.Header header;
+
+        Entry(org.apache.http.Header header) {
+            this.header = header;
+        }
+
+        @Override
+        public String getName() {
+            return header.getName();
+        }
+
+        @Override
+        public String getValue() {
+            return header.getValue();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import kong.unirest.Config;
+import kong.unirest.Flow;
+import kong.unirest.RawResponse;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A async response consumer which hands the response over as soon as the head arrives and publishes the body
+ * to a single subscriber as it is decoded. Chunks are only read from the socket while the subscriber has
+ * outstanding demand, otherwise input is suspended until it asks for more.
+ * Items are delivered on the I/O dispatcher thread so subscribers should not block.
+ */
+class PublishingResponseConsumer extends AbstractAsyncResponseConsumer<HttpResponse> implements Flow.Publisher<ByteBuffer> {
+    private static final int CHUNK_SIZE = 32 * 1024;
+    private final Config config;
+    private final Consumer<RawResponse> onHead;
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicBoolean suspended = new AtomicBoolean();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private volatile Flow.Subscriber<? super ByteBuffer> subscriber;
+    private volatile IOControl ioctrl;
+    private volatile HttpResponse response;
+    private volatile Future<?> exchange;
+    private volatile boolean cancelled;
+    private boolean finished;
+    private boolean terminated;
+    private Throwable failure;
+
+    PublishingResponseConsumer(Config config, Consumer<RawResponse> onHead) {
+        this.config = config;
+        this.onHead = onHead;
+    }
+
+    @Override
+    protected void onResponseReceived(HttpResponse httpResponse) {
+        this.response = httpResponse;
+        if (httpResponse.getEntity() == null) {
+            onHead.accept(new ApacheResponse(httpResponse, config, this::abort, this));
+        }
+    }
+
+    @Override
+    protected void onEntityEnclosed(HttpEntity entity, ContentType contentType) throws IOException {
+        onHead.accept(new ApacheResponse(response, config, this::abort, this));
+        // the response is handed over either way, a body which can't be published fails the subscription
+        Util.requireIdentity(response);
+    }
+
+    @Override
+    protected void onContentReceived(ContentDecoder decoder, IOControl control) throws IOException {
+        this.ioctrl = control;
+        Flow.Subscriber<? super ByteBuffer> s = subscriber;
+        while (s != null && !cancelled && demand.get() > 0) {
+            ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+            if (decoder.read(chunk) <= 0) {
+                return;
+            }
+            chunk.flip();
+            demand.decrementAndGet();
+            s.onNext(chunk);
+        }
+        // an empty read lets bodies with nothing left in them complete without waiting on demand
+        decoder.read(ByteBuffer.allocate(0));
+        if (!decoder.isCompleted()) {
+            control.suspendInput();
+            suspended.set(true);
+            // demand may have arrived after the loop gave up
+            if ((cancelled || (subscriber != null && demand.get() > 0)) && suspended.compareAndSet(true, false)) {
+                control.requestInput();
+            }
+        }
+    }
+
+    private void resume() {
+        IOControl control = ioctrl;
+        if (control != null && suspended.compareAndSet(true, false)) {
+            control.requestInput();
+        }
+    }
+
+    @Override
+    protected HttpResponse buildResult(HttpContext context) {
+        synchronized (this) {
+            finished = true;
+        }
+        signalTerminal();
+        return response;
+    }
+
+    @Override
+    protected void releaseResources() {
+        synchronized (this) {
+            if (!finished && !cancelled) {
+                Exception cause = getException();
+                failure = cause != null ? cause : new IOException("Response body was cut short");
+            }
+        }
+        signalTerminal();
+    }
+
+    private void signalTerminal() {
+        Flow.Subscriber<? super ByteBuffer> s;
+        synchronized (this) {
+            s = subscriber;
+            if (s == null || terminated || cancelled || (!finished && failure == null)) {
+                return;
+            }
+            terminated = true;
+        }
+        if (failure != null) {
+            s.onError(failure);
+        } else {
+            s.onComplete();
+        }
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> s) {
+        if (!subscribed.compareAndSet(false, true)) {
+            s.onSubscribe(new Rejected());
+            s.onError(new IllegalStateException("The body can only be subscribed to once"));
+            return;
+        }
+        s.onSubscribe(new Subscription(s));
+        subscriber = s;
+        signalTerminal();
+        resume();
+    }
+
+    void setExchange(Future<?> future) {
+        this.exchange = future;
+        if (cancelled) {
+            future.cancel(true);
+        }
+    }
+
+    void abort() {
+        cancelled = true;
+        Future<?> future = exchange;
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    private class Subscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super ByteBuffer> target;
+
+        Subscription(Flow.Subscriber<? super ByteBuffer> target) {
+            this.target = target;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                synchronized (PublishingResponseConsumer.this) {
+                    terminated = true;
+                }
+                abort();
+                target.onError(new IllegalArgumentException("Demand must be positive"));
+                return;
+            }
+            demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+            resume();
+        }
+
+        @Override
+        public void cancel() {
+            abort();
+        }
+    }
+
+    private static class Rejected implements Flow.Subscription {
+        @Override
+        public void request(long n) {
+            // never subscribed
+        }
+
+        @Override
+        public void cancel() {
+            // never subscribed
+        }
+    }
+}
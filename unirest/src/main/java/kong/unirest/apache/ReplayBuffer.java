@@ -0,0 +1,120 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * An append only buffer that keeps the first bytes in memory and spills everything
+ * past the memory limit into a temp file. Bytes can be read back from any position
+ * that has already been written.
+ */
+class ReplayBuffer implements Closeable {
+    private final int memoryLimit;
+    private byte[] memory = new byte[0];
+    private long size;
+    private Path spillFile;
+    private FileChannel spill;
+
+    ReplayBuffer(int memoryLimit) {
+        this.memoryLimit = memoryLimit;
+    }
+
+    long size() {
+        return size;
+    }
+
+    boolean isSpilled() {
+        return spill != null;
+    }
+
+    void write(byte[] b, int off, int len) throws IOException {
+        int inMemory = (int) Math.min(len, Math.max(0, memoryLimit - size));
+        if (inMemory > 0) {
+            ensureMemory((int) size + inMemory);
+            System.arraycopy(b, off, memory, (int) size, inMemory);
+            size += inMemory;
+        }
+        if (len > inMemory) {
+            ByteBuffer rest = ByteBuffer.wrap(b, off + inMemory, len - inMemory);
+            FileChannel channel = getSpill();
+            long position = size - memoryLimit;
+            while (rest.hasRemaining()) {
+                position += channel.write(rest, position);
+            }
+            size += len - inMemory;
+        }
+    }
+
+    /**
+     * Read already written bytes starting at a position
+     * @return the number of bytes read or -1 if the position is at the end of the buffer
+     */
+    int read(long position, byte[] b, int off, int len) throws IOException {
+        if (position >= size) {
+            return -1;
+        }
+        int count = (int) Math.min(len, size - position);
+        if (position < memoryLimit) {
+            count = (int) Math.min(count, memoryLimit - position);
+            System.arraycopy(memory, (int) position, b, off, count);
+            return count;
+        }
+        return spill.read(ByteBuffer.wrap(b, off, count), position - memoryLimit);
+    }
+
+    private void ensureMemory(int required) {
+        if (required > memory.length) {
+            int grown = (int) Math.min(memoryLimit, Math.max(required, memory.length * 2L));
+            memory = Arrays.copyOf(memory, grown);
+        }
+    }
+
+    private FileChannel getSpill() throws IOException {
+        if (spill == null) {
+            spillFile = Files.createTempFile("unirest-body", ".tmp");
+            spill = FileChannel.open(spillFile, READ, WRITE, DELETE_ON_CLOSE);
+        }
+        return spill;
+    }
+
+    @Override
+    public void close() throws IOException {
+        memory = new byte[0];
+        if (spill != null) {
+            spill.close();
+            Files.deleteIfExists(spillFile);
+        }
+    }
+}
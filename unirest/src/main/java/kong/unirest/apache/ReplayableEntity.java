@@ -0,0 +1,137 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.AbstractHttpEntity;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * Wraps a one-shot streaming entity so it can be sent more than once (redirects, auth challenges, retries).
+ * Bytes are copied into a ReplayBuffer as they are first read from the original stream.
+ * Every later attempt replays the buffer and then continues from the original stream
+ * where the previous attempt left off, so the original is never read twice.
+ */
+class ReplayableEntity extends AbstractHttpEntity implements Closeable {
+    private static final int COPY_SIZE = 8192;
+    private final InputStream source;
+    private final long length;
+    private final ReplayBuffer buffer;
+    private boolean sourceFinished;
+
+    ReplayableEntity(HttpEntity original, int memoryLimit) throws IOException {
+        this.source = original.getContent();
+        this.length = original.getContentLength();
+        this.buffer = new ReplayBuffer(memoryLimit);
+        setContentType(original.getContentType());
+        setContentEncoding(original.getContentEncoding());
+        setChunked(original.isChunked());
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return length;
+    }
+
+    @Override
+    public InputStream getContent() {
+        return new ReplayingStream();
+    }
+
+    @Override
+    public void writeTo(OutputStream outstream) throws IOException {
+        Objects.requireNonNull(outstream, "Output stream may not be null");
+        try (InputStream in = getContent()) {
+            byte[] b = new byte[COPY_SIZE];
+            int len;
+            while ((len = in.read(b, 0, b.length)) != -1) {
+                outstream.write(b, 0, len);
+            }
+        }
+        outstream.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            source.close();
+        } finally {
+            buffer.close();
+        }
+    }
+
+    private synchronized int readMore(long position, byte[] b, int off, int len) throws IOException {
+        int replayed = buffer.read(position, b, off, len);
+        if (replayed != -1 || sourceFinished) {
+            return replayed;
+        }
+        int read = source.read(b, off, len);
+        if (read == -1) {
+            sourceFinished = true;
+        } else {
+            buffer.write(b, off, read);
+        }
+        return read;
+    }
+
+    private class ReplayingStream extends InputStream {
+        private long position;
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int read = readMore(position, b, off, len);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+    }
+}
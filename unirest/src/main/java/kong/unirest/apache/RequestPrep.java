@@ -29,13 +29,16 @@ import kong.unirest.*;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.*;
+import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.message.BasicHeader;
+import org.apache.http.nio.entity.HttpAsyncContentProducer;
 import org.apache.http.nio.entity.NByteArrayEntity;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.function.Function;
 
 class RequestPrep {
@@ -77,8 +80,9 @@ class RequestPrep {
         if (!request.getHeaders().containsKey(USER_AGENT_HEADER)) {
             request.header(USER_AGENT_HEADER, USER_AGENT);
         }
-        if (!request.getHeaders().containsKey(ACCEPT_ENCODING_HEADER) && config.isRequestCompressionOn()) {
-            request.header(ACCEPT_ENCODING_HEADER, "gzip");
+        if (!request.getHeaders().containsKey(ACCEPT_ENCODING_HEADER) && config.isRequestCompressionOn()
+                && !config.getContentDecoders().isEmpty()) {
+            request.header(ACCEPT_ENCODING_HEADER, acceptEncoding());
         }
 
         try {
@@ -91,6 +95,12 @@ class RequestPrep {
         }
     }
 
+    private String acceptEncoding() {
+        return config.getContentDecoders().stream()
+                .map(ContentDecoder::toString)
+                .collect(Collectors.joining(", "));
+    }
+
     private Function<String, HttpRequestBase> register(HttpMethod method) {
         return u -> new ApacheRequestWithBody(method, u);
     }
@@ -102,22 +112,43 @@ class RequestPrep {
     private void setBody(HttpRequestBase reqObj) {
         if (request.getBody().isPresent()) {
             ApacheBodyMapper mapper = new ApacheBodyMapper(request);
-            HttpEntity entity = mapper.apply();
+            HttpEntity entity = toReplayable(mapper.apply());
             if (async) {
                 if (reqObj.getHeaders(CONTENT_TYPE) == null || reqObj.getHeaders(CONTENT_TYPE).length == 0) {
                     reqObj.setHeader(entity.getContentType());
                 }
-                try {
-                    ByteArrayOutputStream output = new ByteArrayOutputStream();
-                    entity.writeTo(output);
-                    NByteArrayEntity en = new NByteArrayEntity(output.toByteArray());
-                    ((HttpEntityEnclosingRequestBase) reqObj).setEntity(en);
-                } catch (IOException e) {
-                    throw new UnirestException(e);
-                }
+                ((HttpEntityEnclosingRequestBase) reqObj).setEntity(toAsyncEntity(entity));
             } else {
                 ((HttpEntityEnclosingRequestBase) reqObj).setEntity(entity);
             }
         }
     }
+
+    private HttpEntity toReplayable(HttpEntity entity) {
+        if (config.getRequestBodyReplayBuffer() <= 0 || !(entity instanceof InputStreamEntity)) {
+            return entity;
+        }
+        try {
+            return new ReplayableEntity(entity, config.getRequestBodyReplayBuffer());
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
+
+    // Entities that can already produce content without blocking (or that are streams we must not buffer)
+    // are handed to the async client as is. Everything else is buffered into memory once.
+    private HttpEntity toAsyncEntity(HttpEntity entity) {
+        if (entity instanceof HttpAsyncContentProducer
+                || entity instanceof InputStreamEntity
+                || entity instanceof ReplayableEntity) {
+            return entity;
+        }
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            entity.writeTo(output);
+            return new NByteArrayEntity(output.toByteArray());
+        } catch (IOException e) {
+            throw new UnirestException(e);
+        }
+    }
 }
@@ -0,0 +1,202 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import kong.unirest.BufferPool;
+import kong.unirest.Config;
+import kong.unirest.ResponseTooLargeException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Buffers response bodies according to the Config. Bodies up to the spill threshold are read into the BufferPool.
+ * Larger ones are written to a temp file and mapped back into memory, so they take up page cache rather than heap.
+ * The temp file is deleted as soon as it is mapped; the space is given back once the mapping is garbage collected.
+ */
+final class ResponseBuffers {
+    private static final int CHUNK_SIZE = 64 * 1024;
+    // the declared length is only a hint, the buffer grows as the body actually arrives
+    private static final int MAX_INITIAL_CAPACITY = 16 * CHUNK_SIZE;
+
+    private ResponseBuffers() {
+    }
+
+    /**
+     * Read a body into a buffer. Heap buffers come from the Config's BufferPool, bodies over the spill threshold
+     * are memory mapped.
+     * @param in the body
+     * @param length the expected length or -1 if unknown
+     * @param config the config
+     * @return a buffer positioned at the start of the body
+     * @throws IOException if the body could not be read or spilled
+     */
+    static ByteBuffer read(InputStream in, long length, Config config) throws IOException {
+        long threshold = config.getResponseSpillThreshold();
+        BufferPool pool = config.getBufferPool();
+        if (threshold <= 0) {
+            return pool.readPooled(in, length);
+        }
+        if (length > threshold) {
+            return spill(in, new byte[0], 0, pool);
+        }
+        byte[] body = pool.acquire((int) (length >= 0
+                ? Math.min(Math.max(length, 1), MAX_INITIAL_CAPACITY)
+                : Math.min(threshold + 1, CHUNK_SIZE)));
+        int total = 0;
+        int read;
+        while ((read = in.read(body, total, body.length - total)) != -1) {
+            total += read;
+            if (total > threshold) {
+                ByteBuffer spilled = spill(in, body, total, pool);
+                pool.release(body);
+                return spilled;
+            } else if (total == body.length) {
+                byte[] bigger = pool.acquire((int) Math.min(body.length * 2L, threshold + 1));
+                System.arraycopy(body, 0, bigger, 0, total);
+                pool.release(body);
+                body = bigger;
+            }
+        }
+        return ByteBuffer.wrap(body, 0, total);
+    }
+
+    private static ByteBuffer spill(InputStream in, byte[] head, int headLength, BufferPool pool) throws IOException {
+        Path file = Files.createTempFile("unirest", ".body");
+        try (FileChannel channel = open(file)) {
+            writeFully(channel, ByteBuffer.wrap(head, 0, headLength));
+            byte[] chunk = pool.acquire(CHUNK_SIZE);
+            try {
+                int read;
+                while ((read = in.read(chunk)) != -1) {
+                    writeFully(channel, ByteBuffer.wrap(chunk, 0, read));
+                }
+            } finally {
+                pool.release(chunk);
+            }
+            return map(channel);
+        }
+    }
+
+    /**
+     * Open a temp file for spilling. It is deleted when the channel is closed.
+     * @param file the file
+     * @return a channel to read and write the file
+     * @throws IOException if the file can't be opened
+     */
+    static FileChannel open(Path file) throws IOException {
+        try {
+            return FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    /**
+     * Map everything written to a spill file. The mapping stays valid after the channel is closed.
+     * @param channel the channel
+     * @return a read only buffer of the file
+     * @throws IOException if the file can't be mapped
+     */
+    static ByteBuffer map(FileChannel channel) throws IOException {
+        if (channel.size() > Integer.MAX_VALUE) {
+            throw new IOException("Response bodies over 2gb can't be buffered. Stream them instead");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    /**
+     * Write all of a buffer to a channel
+     * @param channel the channel
+     * @param buffer the buffer
+     * @throws IOException if the write fails
+     */
+    static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Fail with a ResponseTooLargeException once more than the maximum is read from a stream.
+     * @param in the stream
+     * @param length the expected length or -1 if unknown. If it is known to be over it fails right away
+     * @param max the maximum or 0 for no limit
+     * @return a stream which will not read past the limit
+     */
+    static InputStream limit(InputStream in, long length, long max) {
+        if (max <= 0) {
+            return in;
+        }
+        if (length > max) {
+            throw new ResponseTooLargeException(max);
+        }
+        return new FilterInputStream(in) {
+            private long count;
+
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                count(b == -1 ? -1 : 1);
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return count(super.read(b, off, len));
+            }
+
+            private int count(int read) {
+                if (read > 0 && (count += read) > max) {
+                    throw new ResponseTooLargeException(max);
+                }
+                return read;
+            }
+        };
+    }
+
+    /**
+     * Decode a buffered body into a String with a charset which has already been resolved,
+     * so there is no lookup by name on each call.
+     * @param buffer the body. The buffer itself is not moved
+     * @param charset the charset of the body
+     * @return the text
+     */
+    static String decode(ByteBuffer buffer, Charset charset) {
+        if (!buffer.hasArray()) {
+            return charset.decode(buffer.duplicate()).toString();
+        }
+        return new String(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), charset);
+    }
+}
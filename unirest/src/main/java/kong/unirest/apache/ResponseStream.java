@@ -0,0 +1,96 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A response body which is still attached to its connection.
+ * When closed before reaching the end it drains the rest of the body if no more than the drain limit remains,
+ * keeping the connection reusable. Otherwise (or when the length is unknown) the connection is aborted.
+ */
+class ResponseStream extends FilterInputStream {
+    private final long contentLength;
+    private final long drainLimit;
+    private final Runnable abort;
+    private long consumed;
+    private boolean eof;
+    private boolean closed;
+
+    ResponseStream(InputStream in, long contentLength, long drainLimit, Runnable abort) {
+        super(in);
+        this.contentLength = contentLength;
+        this.drainLimit = drainLimit;
+        this.abort = abort;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        count(b == -1 ? -1 : 1);
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        count(read);
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        consumed += skipped;
+        return skipped;
+    }
+
+    private void count(int read) {
+        if (read == -1) {
+            eof = true;
+        } else {
+            consumed += read;
+        }
+    }
+
+    boolean shouldDrain() {
+        return eof || (contentLength >= 0 && contentLength - consumed <= drainLimit);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (!shouldDrain()) {
+            abort.run();
+        }
+        super.close();
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import kong.unirest.Config;
+import kong.unirest.ResponseTooLargeException;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.ByteArrayBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+
+/**
+ * A async response consumer which enforces Config::maxResponseSize and Config::responseSpillThreshold
+ * while the body is received. Bodies over the threshold are written to a temp file and memory mapped
+ * once complete. Bodies over the maximum fail the exchange as soon as that is known, which closes the connection.
+ */
+class SpillingResponseConsumer extends AbstractAsyncResponseConsumer<HttpResponse> {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // the declared length is only a hint, the buffer grows as the body actually arrives
+    private static final int MAX_INITIAL_CAPACITY = 16 * BUFFER_SIZE;
+    private static final long MAX_HEAP_BODY = Integer.MAX_VALUE - 8;
+    private final ByteBuffer chunk = ByteBuffer.allocate(BUFFER_SIZE);
+    private final long threshold;
+    private final long max;
+    private HttpResponse response;
+    private HttpEntity original;
+    private ByteArrayBuffer heap;
+    private FileChannel spill;
+    private long received;
+
+    SpillingResponseConsumer(Config config) {
+        this.threshold = config.getResponseSpillThreshold();
+        this.max = config.getMaxResponseSize();
+    }
+
+    @Override
+    protected void onResponseReceived(HttpResponse httpResponse) {
+        this.response = httpResponse;
+    }
+
+    @Override
+    protected void onEntityEnclosed(HttpEntity entity, ContentType contentType) throws IOException {
+        this.original = entity;
+        long length = entity.getContentLength();
+        checkSize(length);
+        if (threshold > 0 && length > threshold) {
+            spill = ResponseBuffers.open(Files.createTempFile("unirest", ".body"));
+        } else {
+            heap = new ByteArrayBuffer((int) (length >= 0 ? Math.min(length, MAX_INITIAL_CAPACITY) : BUFFER_SIZE));
+        }
+    }
+
+    @Override
+    protected void onContentReceived(ContentDecoder decoder, IOControl ioctrl) throws IOException {
+        int read;
+        while ((read = decoder.read(chunk)) > 0) {
+            received += read;
+            checkSize(received);
+            chunk.flip();
+            if (spill != null) {
+                ResponseBuffers.writeFully(spill, chunk);
+            } else {
+                if (received > MAX_HEAP_BODY) {
+                    throw new IOException("Response bodies over 2gb can't be buffered. Stream them or set a spill threshold");
+                }
+                heap.append(chunk.array(), 0, read);
+                spillIfOver();
+            }
+            chunk.clear();
+        }
+    }
+
+    private void spillIfOver() throws IOException {
+        if (threshold > 0 && heap.length() > threshold) {
+            spill = ResponseBuffers.open(Files.createTempFile("unirest", ".body"));
+            ResponseBuffers.writeFully(spill, ByteBuffer.wrap(heap.buffer(), 0, heap.length()));
+            heap = null;
+        }
+    }
+
+    private void checkSize(long size) throws IOException {
+        if (max > 0 && size > max) {
+            ResponseTooLargeException tooLarge = new ResponseTooLargeException(max);
+            throw new IOException(tooLarge.getMessage(), tooLarge);
+        }
+    }
+
+    @Override
+    protected HttpResponse buildResult(HttpContext context) throws IOException {
+        if (original == null) {
+            return response;
+        }
+        AbstractHttpEntity entity;
+        if (spill != null) {
+            entity = new SpilledEntity(ResponseBuffers.map(spill));
+        } else {
+            entity = new ByteArrayEntity(heap.buffer(), 0, heap.length());
+        }
+        entity.setContentType(original.getContentType());
+        entity.setContentEncoding(original.getContentEncoding());
+        response.setEntity(entity);
+        return response;
+    }
+
+    @Override
+    protected void releaseResources() {
+        heap = null;
+        if (spill != null) {
+            try {
+                // the mapping outlives the channel, closing it deletes the temp file
+                spill.close();
+            } catch (IOException ignored) {
+                // nothing more can be done with it
+            }
+            spill = null;
+        }
+    }
+}
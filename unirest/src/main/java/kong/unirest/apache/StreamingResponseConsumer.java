@@ -0,0 +1,151 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import kong.unirest.Config;
+import kong.unirest.RawResponse;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.entity.ContentInputStream;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.nio.util.SharedInputBuffer;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * A async response consumer which hands the response over as soon as the head arrives.
+ * The body is passed to the reader through a bounded shared buffer. When the buffer is full
+ * the I/O reactor stops reading from the socket until the reader catches up.
+ */
+class StreamingResponseConsumer extends AbstractAsyncResponseConsumer<HttpResponse> {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final Config config;
+    private final Consumer<RawResponse> onHead;
+    private volatile HttpResponse response;
+    private volatile SharedInputBuffer buffer;
+    private volatile boolean finished;
+    private volatile boolean failed;
+    private volatile Future<?> exchange;
+    private volatile boolean abortRequested;
+
+    StreamingResponseConsumer(Config config, Consumer<RawResponse> onHead) {
+        this.config = config;
+        this.onHead = onHead;
+    }
+
+    @Override
+    protected void onResponseReceived(HttpResponse httpResponse) {
+        this.response = httpResponse;
+        if (httpResponse.getEntity() == null) {
+            onHead.accept(new ApacheResponse(httpResponse, config, this::abort));
+        }
+    }
+
+    @Override
+    protected void onEntityEnclosed(HttpEntity entity, ContentType contentType) {
+        buffer = new SharedInputBuffer(BUFFER_SIZE);
+        BasicHttpEntity streaming = new BasicHttpEntity();
+        streaming.setContent(new BodyStream(buffer));
+        streaming.setContentLength(entity.getContentLength());
+        streaming.setContentType(entity.getContentType());
+        streaming.setContentEncoding(entity.getContentEncoding());
+        streaming.setChunked(entity.isChunked());
+        response.setEntity(streaming);
+        onHead.accept(new ApacheResponse(response, config, this::abort));
+    }
+
+    @Override
+    protected void onContentReceived(ContentDecoder decoder, IOControl ioctrl) throws IOException {
+        buffer.consumeContent(decoder, ioctrl);
+    }
+
+    @Override
+    protected HttpResponse buildResult(HttpContext context) {
+        finished = true;
+        return response;
+    }
+
+    @Override
+    protected void releaseResources() {
+        if (buffer == null) {
+            return;
+        }
+        if (finished) {
+            buffer.close();
+        } else {
+            failed = true;
+            buffer.shutdown();
+        }
+    }
+
+    void setExchange(Future<?> future) {
+        this.exchange = future;
+        if (abortRequested) {
+            future.cancel(true);
+        }
+    }
+
+    void abort() {
+        abortRequested = true;
+        Future<?> future = exchange;
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    private class BodyStream extends FilterInputStream {
+        BodyStream(SharedInputBuffer buffer) {
+            super(new ContentInputStream(buffer));
+        }
+
+        @Override
+        public int read() throws IOException {
+            return checkTruncated(super.read());
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return checkTruncated(super.read(b, off, len));
+        }
+
+        private int checkTruncated(int read) throws IOException {
+            if (read == -1 && failed && !abortRequested) {
+                Exception cause = getException();
+                throw new IOException("Response body was cut short"
+                        + (cause == null ? "" : ": " + cause.getMessage()), cause);
+            }
+            return read;
+        }
+    }
+}
@@ -25,6 +25,13 @@
 
 package kong.unirest.apache;
 
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -57,6 +64,22 @@ class Util {
         }
     }
 
+    static Optional<Exception> closeBody(HttpUriRequest request) {
+        return tryCast(request, HttpEntityEnclosingRequestBase.class)
+                .flatMap(r -> tryCast(r.getEntity(), Closeable.class))
+                .flatMap(c -> tryDo(c, Closeable::close));
+    }
+
+    // bodies handled as they come off the wire ask for them as is and can't go through the ContentDecoders,
+    // so a server which compresses them anyway fails rather than handing over encoded bytes
+    static void requireIdentity(HttpResponse response) throws IOException {
+        Header encoding = response.getFirstHeader("Content-Encoding");
+        if (encoding != null && !encoding.getValue().trim().isEmpty()
+                && !"identity".equalsIgnoreCase(encoding.getValue().trim())) {
+            throw new IOException("Expected a body without a Content-Encoding but got '" + encoding.getValue() + "'");
+        }
+    }
+
     @FunctionalInterface
     public interface ExConsumer<T>{
         void accept(T t) throws Exception;
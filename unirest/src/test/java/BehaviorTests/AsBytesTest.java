@@ -0,0 +1,190 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package BehaviorTests;
+
+import kong.unirest.ByteBufferResponse;
+import kong.unirest.HttpResponse;
+import kong.unirest.ResponseTooLargeException;
+import kong.unirest.TestUtil;
+import kong.unirest.Unirest;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsBytesTest extends BddTest {
+
+    @Test
+    public void canGetTheBodyAsBytes() {
+        HttpResponse<byte[]> response = Unirest.get(MockServer.LARGE)
+                .queryString("size", 300_000)
+                .asBytes();
+
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(MockServer.largeBody(300_000), response.getBody());
+    }
+
+    @Test
+    public void canGetTheBodyAsBytesAsync() throws Exception {
+        HttpResponse<byte[]> response = Unirest.get(MockServer.LARGE)
+                .queryString("size", 300_000)
+                .asBytesAsync()
+                .get();
+
+        assertArrayEquals(MockServer.largeBody(300_000), response.getBody());
+    }
+
+    @Test
+    public void gzippedBodiesAreDecompressed() {
+        byte[] body = Unirest.get(MockServer.GZIP)
+                .queryString("foo", "bar")
+                .asBytes()
+                .getBody();
+
+        TestUtil.readValue(new String(body), RequestCapture.class)
+                .assertParam("foo", "bar");
+    }
+
+    @Test
+    public void byteBuffersAreReturnedToThePoolOnClose() {
+        long before = Unirest.config().getBufferPool().getRetainedBytes();
+
+        try (ByteBufferResponse response = Unirest.get(MockServer.LARGE)
+                .queryString("size", 100_000)
+                .asByteBuffer()) {
+
+            ByteBuffer body = response.getBody();
+            assertEquals(100_000, body.remaining());
+            assertArrayEquals(MockServer.largeBody(100_000),
+                    Arrays.copyOfRange(body.array(), body.arrayOffset(), body.arrayOffset() + body.remaining()));
+        }
+
+        assertTrue(Unirest.config().getBufferPool().getRetainedBytes() > before);
+    }
+
+    @Test
+    public void canGetAPooledBufferAsync() throws Exception {
+        try (ByteBufferResponse response = Unirest.get(MockServer.LARGE)
+                .queryString("size", 10_000)
+                .asByteBufferAsync()
+                .get()) {
+
+            assertEquals(10_000, response.getBody().remaining());
+        }
+    }
+
+    @Test
+    public void largeBodiesSpillToAMappedFile() {
+        Unirest.config().responseSpillThreshold(50_000);
+
+        try (ByteBufferResponse response = Unirest.get(MockServer.LARGE)
+                .queryString("size", 300_000)
+                .asByteBuffer()) {
+
+            ByteBuffer body = response.getBody();
+            assertTrue(body.isDirect());
+            assertFalse(body.hasArray());
+            assertEquals(ByteBuffer.wrap(MockServer.largeBody(300_000)), body);
+        }
+    }
+
+    @Test
+    public void largeBodiesSpillToAMappedFileAsync() throws Exception {
+        Unirest.config().responseSpillThreshold(50_000);
+
+        try (ByteBufferResponse response = Unirest.get(MockServer.LARGE)
+                .queryString("size", 300_000)
+                .asByteBufferAsync()
+                .get()) {
+
+            assertTrue(response.getBody().isDirect());
+            assertEquals(ByteBuffer.wrap(MockServer.largeBody(300_000)), response.getBody());
+        }
+    }
+
+    @Test
+    public void bodiesUnderTheThresholdStayOnTheHeap() {
+        Unirest.config().responseSpillThreshold(50_000);
+
+        try (ByteBufferResponse response = Unirest.get(MockServer.LARGE)
+                .queryString("size", 10_000)
+                .asByteBuffer()) {
+
+            assertTrue(response.getBody().hasArray());
+        }
+    }
+
+    @Test
+    public void spilledBodiesCanStillBeReadAsStrings() {
+        Unirest.config().responseSpillThreshold(1000);
+
+        String body = Unirest.get(MockServer.LARGE)
+                .queryString("size", 100_000)
+                .asString()
+                .getBody();
+
+        assertEquals(new String(MockServer.largeBody(100_000)), body);
+    }
+
+    @Test
+    public void bodiesOverTheMaximumFail() {
+        Unirest.config().maxResponseSize(10_000);
+
+        try {
+            Unirest.get(MockServer.LARGE)
+                    .queryString("size", 300_000)
+                    .asBytes();
+            fail("should have thrown");
+        } catch (ResponseTooLargeException e) {
+            assertEquals(10_000, e.getMaxSize());
+        }
+
+        assertEquals(200, Unirest.get(MockServer.LARGE).queryString("size", 100).asBytes().getStatus());
+    }
+
+    @Test
+    public void bodiesOverTheMaximumFailAsync() throws Exception {
+        Unirest.config().maxResponseSize(10_000);
+
+        try {
+            Unirest.get(MockServer.LARGE)
+                    .queryString("size", 300_000)
+                    .asBytesAsync()
+                    .get();
+            fail("should have thrown");
+        } catch (ExecutionException e) {
+            assertSame(ResponseTooLargeException.class, e.getCause().getClass());
+        }
+    }
+}
@@ -25,9 +25,11 @@
 
 package BehaviorTests;
 
+import org.apache.http.pool.PoolStats;
 import org.junit.Test;
 import kong.unirest.HttpResponse;
 import kong.unirest.Unirest;
+import kong.unirest.apache.ApacheClient;
 
 import static junit.framework.TestCase.assertEquals;
 
@@ -67,4 +69,57 @@ public class AsEmptyTest extends BddTest {
 
         assertAsync();
     }
+
+    @Test
+    public void smallBodiesAreDrainedSoTheConnectionCanBeReused() {
+        Unirest.get(MockServer.LARGE).queryString("size", 1000).asEmpty();
+        Unirest.get(MockServer.LARGE).queryString("size", 1000).asEmpty();
+
+        assertEquals(0, pool().getLeased());
+        assertEquals(1, pool().getAvailable());
+    }
+
+    @Test
+    public void largeBodiesAbortTheConnection() {
+        HttpResponse res = Unirest.get(MockServer.LARGE).queryString("size", 5_000_000).asEmpty();
+
+        assertEquals(200, res.getStatus());
+        assertEquals(0, pool().getLeased());
+        assertEquals(0, pool().getAvailable());
+    }
+
+    @Test
+    public void largeBodiesAreNotReadAsync() throws Exception {
+        HttpResponse res = Unirest.get(MockServer.LARGE)
+                .queryString("size", 50_000_000)
+                .asEmptyAsync()
+                .get();
+
+        assertEquals(200, res.getStatus());
+        assertEquals("50000000", res.getHeaders().getFirst("Content-Length"));
+        assertEquals(200, Unirest.get(MockServer.GET).asEmptyAsync().get().getStatus());
+    }
+
+    @Test
+    public void abortingALargeBodyDoesNotFailAResponseWaitingOnTheExecutor() throws Exception {
+        Unirest.config().asyncResponseExecutor(r -> new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            r.run();
+        }).start());
+
+        HttpResponse res = Unirest.get(MockServer.LARGE)
+                .queryString("size", 2_000_000)
+                .asEmptyAsync()
+                .get();
+
+        assertEquals(200, res.getStatus());
+    }
+
+    private PoolStats pool() {
+        return ((ApacheClient) Unirest.config().getClient()).getManager().getTotalStats();
+    }
 }
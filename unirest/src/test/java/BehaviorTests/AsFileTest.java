@@ -25,17 +25,29 @@
 
 package BehaviorTests;
 
+import kong.unirest.DownloadMode;
+import kong.unirest.HttpRequest;
+import kong.unirest.HttpResponse;
 import org.junit.Test;
 import kong.unirest.JacksonObjectMapper;
 import kong.unirest.TestUtil;
 import kong.unirest.Unirest;
+import kong.unirest.UnirestException;
 
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class AsFileTest extends BddTest {
@@ -45,6 +57,7 @@ public class AsFileTest extends BddTest {
 
     @Override
     public void tearDown() {
+        super.tearDown();
         try {
             Files.delete(test);
         } catch (Exception e) { }
@@ -110,4 +123,278 @@ public class AsFileTest extends BddTest {
 
         assertTrue(com.google.common.io.Files.equal(f1, f2));
     }
+
+    @Test
+    public void largeAsyncDownloadsAreWrittenAsTheyArrive() throws Exception {
+        Unirest.get(MockServer.LARGE)
+                .queryString("size", 5_000_000)
+                .asFileAsync(test.toString())
+                .get();
+
+        assertArrayEquals(MockServer.largeBody(5_000_000), Files.readAllBytes(test));
+    }
+
+    @Test
+    public void asyncDownloadsFailIfTheFileExists() throws Exception {
+        Files.write(test, "junk".getBytes());
+        try {
+            Unirest.get(MockServer.GET).asFileAsync(test.toString()).get();
+            fail("should have failed");
+        } catch (ExecutionException e) {
+            assertEquals("junk", new String(Files.readAllBytes(test)));
+        }
+    }
+
+    @Test
+    public void canOverwriteExistingFiles() throws Exception {
+        Files.write(test, MockServer.largeBody(5000));
+
+        Unirest.get(MockServer.LARGE)
+                .queryString("size", 1000)
+                .asFile(test.toString(), DownloadMode.OVERWRITE);
+
+        assertArrayEquals(MockServer.largeBody(1000), Files.readAllBytes(test));
+    }
+
+    @Test
+    public void canOverwriteExistingFilesAsync() throws Exception {
+        Files.write(test, MockServer.largeBody(5000));
+
+        Unirest.get(MockServer.LARGE)
+                .queryString("size", 1000)
+                .asFileAsync(test.toString(), DownloadMode.OVERWRITE)
+                .get();
+
+        assertArrayEquals(MockServer.largeBody(1000), Files.readAllBytes(test));
+    }
+
+    @Test
+    public void canAppendToExistingFiles() throws Exception {
+        Files.write(test, "junk".getBytes());
+
+        Unirest.get(MockServer.LARGE)
+                .queryString("size", 100)
+                .asFileAsync(test.toString(), DownloadMode.APPEND)
+                .get();
+
+        byte[] result = Files.readAllBytes(test);
+        assertEquals("junk", new String(result, 0, 4));
+        assertArrayEquals(MockServer.largeBody(100), Arrays.copyOfRange(result, 4, result.length));
+    }
+
+    @Test
+    public void canResumeAPartialDownload() throws Exception {
+        Files.write(test, Arrays.copyOf(MockServer.largeBody(1_000_000), 300_000));
+
+        HttpResponse<File> response = Unirest.get(MockServer.LARGE)
+                .queryString("size", 1_000_000)
+                .asFile(test.toString(), DownloadMode.RESUME);
+
+        assertEquals(206, response.getStatus());
+        assertArrayEquals(MockServer.largeBody(1_000_000), Files.readAllBytes(test));
+    }
+
+    @Test
+    public void canResumeAPartialDownloadAsync() throws Exception {
+        Files.write(test, Arrays.copyOf(MockServer.largeBody(1_000_000), 300_000));
+
+        HttpResponse<File> response = Unirest.get(MockServer.LARGE)
+                .queryString("size", 1_000_000)
+                .asFileAsync(test.toString(), DownloadMode.RESUME)
+                .get();
+
+        assertEquals(206, response.getStatus());
+        assertArrayEquals(MockServer.largeBody(1_000_000), Files.readAllBytes(test));
+    }
+
+    @Test
+    public void resumingACompleteFileLeavesItAlone() throws Exception {
+        Files.write(test, MockServer.largeBody(1000));
+
+        HttpResponse<File> response = Unirest.get(MockServer.LARGE)
+                .queryString("size", 1000)
+                .asFileAsync(test.toString(), DownloadMode.RESUME)
+                .get();
+
+        assertEquals(416, response.getStatus());
+        assertArrayEquals(MockServer.largeBody(1000), Files.readAllBytes(test));
+    }
+
+    @Test
+    public void errorResponsesAreNotWrittenWhenResumingOrAppending() throws Exception {
+        byte[] partial = Arrays.copyOf(MockServer.largeBody(1000), 300);
+        Files.write(test, partial);
+
+        HttpResponse<File> resumed = Unirest.get(MockServer.INVALID_REQUEST)
+                .asFile(test.toString(), DownloadMode.RESUME);
+        HttpResponse<File> resumedAsync = Unirest.get(MockServer.INVALID_REQUEST)
+                .asFileAsync(test.toString(), DownloadMode.RESUME)
+                .get();
+        HttpResponse<File> appended = Unirest.get(MockServer.INVALID_REQUEST)
+                .asFile(test.toString(), DownloadMode.APPEND);
+        HttpResponse<File> appendedAsync = Unirest.get(MockServer.INVALID_REQUEST)
+                .asFileAsync(test.toString(), DownloadMode.APPEND)
+                .get();
+
+        for (HttpResponse<File> response : Arrays.asList(resumed, resumedAsync, appended, appendedAsync)) {
+            assertEquals(400, response.getStatus());
+        }
+        assertArrayEquals(partial, Files.readAllBytes(test));
+    }
+
+    @Test
+    public void resumingTheSameRequestTwiceOnlySendsOneRange() throws Exception {
+        List<String> ranges = new CopyOnWriteArrayList<>();
+        Unirest.config().addInterceptor((r, c) -> ranges.add(Arrays.toString(r.getHeaders("Range"))));
+        Files.write(test, Arrays.copyOf(MockServer.largeBody(1000), 300));
+        HttpRequest request = Unirest.get(MockServer.LARGE).queryString("size", 1000);
+
+        request.asFile(test.toString(), DownloadMode.RESUME);
+        request.asFile(test.toString(), DownloadMode.RESUME);
+
+        assertEquals(Arrays.asList("[Range: bytes=300-]", "[Range: bytes=1000-]"), ranges);
+        assertArrayEquals(MockServer.largeBody(1000), Files.readAllBytes(test));
+    }
+
+    @Test
+    public void resumingFailsWhenTheRangeSentDoesNotStartAtTheEndOfTheFile() throws Exception {
+        Unirest.config().addInterceptor((r, c) -> r.setHeader("Range", "bytes=100-"));
+        byte[] partial = Arrays.copyOf(MockServer.largeBody(1000), 300);
+        Files.write(test, partial);
+
+        try {
+            Unirest.get(MockServer.LARGE).queryString("size", 1000).asFile(test.toString(), DownloadMode.RESUME);
+            fail("should have failed");
+        } catch (UnirestException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("bytes 100-999/1000"));
+        }
+        try {
+            Unirest.get(MockServer.LARGE).queryString("size", 1000).asFileAsync(test.toString(), DownloadMode.RESUME).get();
+            fail("should have failed");
+        } catch (ExecutionException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("bytes 100-999/1000"));
+        }
+        assertArrayEquals(partial, Files.readAllBytes(test));
+    }
+
+    @Test
+    public void asyncDownloadsFailRatherThanWriteABodyCompressedAnyway() throws Exception {
+        try {
+            Unirest.get(MockServer.GZIP).asFileAsync(test.toString()).get();
+            fail("should have failed");
+        } catch (ExecutionException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("gzip"));
+        }
+        assertFalse(Files.exists(test));
+    }
+
+    @Test
+    public void resumingWithNoFileDownloadsTheWholeThing() throws Exception {
+        Unirest.get(MockServer.LARGE)
+                .queryString("size", 1000)
+                .asFile(test.toString(), DownloadMode.RESUME);
+
+        assertArrayEquals(MockServer.largeBody(1000), Files.readAllBytes(test));
+    }
+
+    @Test
+    public void canDownloadRangesInParallel() throws Exception {
+        List<String> ranges = new CopyOnWriteArrayList<>();
+        Unirest.config().addInterceptor((r, c) -> {
+            if (r.containsHeader("Range")) {
+                ranges.add(r.getFirstHeader("Range").getValue());
+            }
+        });
+
+        HttpResponse<File> response = Unirest.get(MockServer.LARGE)
+                .queryString("size", 300_001)
+                .asFileInParallel(test.toString(), 4);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(test.toFile(), response.getBody());
+        assertArrayEquals(MockServer.largeBody(300_001), Files.readAllBytes(test));
+        Collections.sort(ranges);
+        assertEquals(Arrays.asList("bytes=0-75000", "bytes=150002-225002", "bytes=225003-300000", "bytes=75001-150001"), ranges);
+    }
+
+    @Test
+    public void parallelDownloadsAnswerAsASingleGetWould() {
+        List<String> validators = new CopyOnWriteArrayList<>();
+        Unirest.config().addInterceptor((r, c) -> {
+            if (r.containsHeader("If-Range")) {
+                validators.add(r.getFirstHeader("If-Range").getValue());
+            }
+        });
+
+        HttpResponse<File> response = Unirest.get(MockServer.LARGE)
+                .queryString("size", 300_001)
+                .asFileInParallel(test.toString(), 4);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("300001", response.getHeaders().getFirst("Content-Length"));
+        assertEquals("\"large-300001\"", response.getHeaders().getFirst("ETag"));
+        assertFalse(response.getHeaders().containsKey("Content-Range"));
+        assertEquals(Collections.nCopies(4, "\"large-300001\""), validators);
+    }
+
+    @Test
+    public void parallelDownloadsFailAndCleanUpWhenTheFileChanges() {
+        Unirest.config().addInterceptor((r, c) -> {
+            if (r.containsHeader("Range") && r.getFirstHeader("Range").getValue().startsWith("bytes=0-")) {
+                r.setHeader("If-Range", "\"changed\"");
+            }
+        });
+
+        try {
+            Unirest.get(MockServer.LARGE)
+                    .queryString("size", 300_000)
+                    .asFileInParallel(test.toString(), 4);
+            fail("should have thrown");
+        } catch (UnirestException e) {
+            assertTrue(e.getMessage().contains("but got a 200"));
+            assertFalse(Files.exists(test));
+        }
+    }
+
+    @Test
+    public void parallelDownloadsFallBackToOneStreamWhenRangesArentSupported() {
+        File result = Unirest.get(MockServer.GET)
+                .queryString("talking","heads")
+                .asFileInParallel(test.toString(), 4)
+                .getBody();
+
+        om.readValue(result, RequestCapture.class)
+                .assertParam("talking", "heads");
+    }
+
+    @Test
+    public void smallFilesAreNotSplit() throws Exception {
+        List<String> ranges = new CopyOnWriteArrayList<>();
+        Unirest.config().addInterceptor((r, c) -> {
+            if (r.containsHeader("Range")) {
+                ranges.add(r.getFirstHeader("Range").getValue());
+            }
+        });
+
+        Unirest.get(MockServer.LARGE)
+                .queryString("size", 1000)
+                .asFileInParallel(test.toString(), 4);
+
+        assertTrue(ranges.isEmpty());
+        assertArrayEquals(MockServer.largeBody(1000), Files.readAllBytes(test));
+    }
+
+    @Test
+    public void parallelDownloadsWontReplaceAnExistingFile() throws Exception {
+        Files.write(test, "existing".getBytes());
+
+        try {
+            Unirest.get(MockServer.LARGE)
+                    .queryString("size", 300_000)
+                    .asFileInParallel(test.toString(), 4);
+            fail("should have thrown");
+        } catch (UnirestException e) {
+            assertArrayEquals("existing".getBytes(), Files.readAllBytes(test));
+        }
+    }
 }
@@ -28,11 +28,15 @@ package BehaviorTests;
 import kong.unirest.GsonObjectMapper;
 import kong.unirest.Unirest;
 import kong.unirest.GenericType;
+import kong.unirest.HttpResponse;
 import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
 
@@ -108,6 +112,34 @@ public class AsGenericTypeTest extends BddTest {
         assertTheFoos(someTees);
     }
 
+    @Test
+    public void largeArraysCanBeMappedInParallel() throws Exception {
+        Unirest.config().parallelArrayDecoding(1).parallelDecodingPool(new ForkJoinPool(4));
+        List<Foo> many = IntStream.range(0, 1000).mapToObj(i -> new Foo("foo " + i)).collect(Collectors.toList());
+        MockServer.setJsonAsResponse(many);
+
+        List<Foo> list = Unirest.get(MockServer.GET).asObject(new GenericType<List<Foo>>(){}).getBody();
+        Foo[] array = Unirest.get(MockServer.GET).asObjectAsync(Foo[].class).get().getBody();
+
+        assertEquals(1000, list.size());
+        assertEquals(1000, array.length);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("foo " + i, list.get(i).bar);
+            assertEquals("foo " + i, array[i].bar);
+        }
+    }
+
+    @Test
+    public void malformedArraysAreStillParsingErrorsWhenMappedInParallel() {
+        Unirest.config().parallelArrayDecoding(1).parallelDecodingPool(new ForkJoinPool(4));
+        MockServer.setStringResponse("[{\"bar\":\"foo\"},{\"bar\":");
+
+        HttpResponse<Foo[]> response = Unirest.get(MockServer.GET).asObject(Foo[].class);
+
+        assertEquals(null, response.getBody());
+        assertEquals("[{\"bar\":\"foo\"},{\"bar\":", response.getParsingError().get().getOriginalBody());
+    }
+
     private void assertTheFoos(List<Foo> someTees) {
         assertEquals(3, someTees.size());
         assertEquals("foo", someTees.get(0).bar);
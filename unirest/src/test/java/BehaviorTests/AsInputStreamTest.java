@@ -0,0 +1,157 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package BehaviorTests;
+
+import kong.unirest.StreamResponse;
+import kong.unirest.TestUtil;
+import kong.unirest.Unirest;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class AsInputStreamTest extends BddTest {
+
+    @Test
+    public void canStreamTheBody() throws Exception {
+        try (StreamResponse<InputStream> response = Unirest.get(MockServer.GET)
+                .queryString("foo", "bar")
+                .asInputStream()) {
+
+            assertEquals(200, response.getStatus());
+            TestUtil.readValue(response.getBody(), RequestCapture.class)
+                    .assertParam("foo", "bar");
+        }
+    }
+
+    @Test
+    public void canStreamTheBodyAsync() throws Exception {
+        try (StreamResponse<InputStream> response = Unirest.get(MockServer.LARGE)
+                .queryString("size", 500_000)
+                .asInputStreamAsync()
+                .get()) {
+
+            assertEquals(200, response.getStatus());
+            assertArrayEquals(MockServer.largeBody(500_000), readAll(response.getBody()));
+        }
+    }
+
+    @Test
+    public void canStreamTheBodyAsAChannel() throws Exception {
+        try (StreamResponse<ReadableByteChannel> response = Unirest.get(MockServer.LARGE)
+                .queryString("size", 100_000)
+                .asChannel()) {
+
+            ByteBuffer buffer = ByteBuffer.allocate(200_000);
+            while (response.getBody().read(buffer) != -1) {
+                // keep reading
+            }
+            assertEquals(100_000, buffer.position());
+        }
+    }
+
+    @Test
+    public void closingEarlyReleasesTheConnection() throws Exception {
+        Unirest.config().socketTimeout(2000);
+
+        for (int i = 0; i < 5; i++) {
+            try (StreamResponse<InputStream> response = Unirest.get(MockServer.LARGE)
+                    .queryString("size", i % 2 == 0 ? 1000 : 5_000_000)
+                    .asInputStream()) {
+                assertEquals('a', response.getBody().read());
+            }
+        }
+    }
+
+    @Test
+    public void closingEarlyReleasesTheConnectionAsync() throws Exception {
+        Unirest.config().concurrency(2, 1).socketTimeout(2000);
+
+        for (int i = 0; i < 5; i++) {
+            try (StreamResponse<InputStream> response = Unirest.get(MockServer.LARGE)
+                    .queryString("size", i % 2 == 0 ? 1000 : 5_000_000)
+                    .asInputStreamAsync()
+                    .get()) {
+                assertEquals('a', response.getBody().read());
+            }
+        }
+    }
+
+    private byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[4096];
+        int len;
+        while ((len = in.read(buf)) != -1) {
+            out.write(buf, 0, len);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void canStreamTheElementsOfAJsonArray() {
+        MockServer.setStringResponse("[{\"bar\":\"a\"}, {\"bar\":\"b,]}\\\"\"} ,{\"bar\":\"c\"}]");
+
+        try (StreamResponse<Stream<Foo>> response = Unirest.get(MockServer.GET).asJsonStream(Foo.class)) {
+            assertEquals(200, response.getStatus());
+            assertEquals(Arrays.asList("a", "b,]}\"", "c"),
+                    response.getBody().map(f -> f.bar).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void canStreamNewlineDelimitedJsonAsync() throws Exception {
+        MockServer.setStringResponse("{\"bar\":\"a\"}\n{\"bar\":\"b\"}\n");
+
+        try (StreamResponse<Stream<Foo>> response = Unirest.get(MockServer.GET)
+                .asJsonStreamAsync(Foo.class)
+                .get()) {
+
+            assertEquals(Arrays.asList("a", "b"), response.getBody().map(f -> f.bar).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void canStreamTheLinesOfTheBody() throws Exception {
+        MockServer.setStringResponse("one\ntwo\r\nthree");
+
+        try (StreamResponse<Stream<String>> response = Unirest.get(MockServer.GET).asLines()) {
+            assertEquals(Arrays.asList("one", "two", "three"), response.getBody().collect(Collectors.toList()));
+        }
+
+        try (StreamResponse<Stream<String>> response = Unirest.get(MockServer.GET).asLinesAsync().get()) {
+            assertEquals("one", response.getBody().findFirst().get());
+        }
+    }
+}
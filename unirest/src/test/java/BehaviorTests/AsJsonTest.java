@@ -26,16 +26,24 @@
 package BehaviorTests;
 
 import kong.unirest.HttpResponse;
+import kong.unirest.JacksonJsonEngine;
 import kong.unirest.JsonNode;
+import kong.unirest.JsonPathValues;
 import kong.unirest.Unirest;
 import org.junit.Test;
 import kong.unirest.MockCallback;
 import kong.unirest.TestUtil;
 
+import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class AsJsonTest extends BddTest {
 
@@ -103,7 +111,101 @@ public class AsJsonTest extends BddTest {
         assertAsync();
     }
 
+    @Test
+    public void largeArraysCanBeParsedInParallel() {
+        Unirest.config().parallelArrayDecoding(1).parallelDecodingPool(new ForkJoinPool(4));
+        MockServer.setStringResponse("[{\"a\":\"x,]\"},[1,2],\"three\",4,null]");
+
+        HttpResponse<JsonNode> response = Unirest.get(MockServer.GET).asJson();
+
+        assertEquals("[{\"a\":\"x,]\"},[1,2],\"three\",4,null]", response.getBody().toString());
+        assertTrue(response.getBody().isArray());
+    }
+
+    @Test
+    public void bodiesCanBeParsedByAnotherJsonEngine() {
+        Unirest.config().jsonEngine(new JacksonJsonEngine()).parallelArrayDecoding(1);
+        MockServer.setStringResponse("[{\"a\":1},{\"b\":[true,null]}]");
+
+        JsonNode body = Unirest.get(MockServer.GET).asJson().getBody();
+
+        assertTrue(body.isArray());
+        assertEquals("[{\"a\":1},{\"b\":[true,null]}]", body.toString());
+        assertEquals(1, body.getArray().getJSONObject(0).getInt("a"));
+    }
+
+    @Test
+    public void canSelectValuesByPath() throws Exception {
+        MockServer.setStringResponse("{\"data\":[{\"id\":1,\"big\":{\"a\":[1,2,3]}},{\"id\":2}],\"meta\":{\"next\":\"/page/2\"}}");
+
+        HttpResponse<JsonPathValues> response = Unirest.get(MockServer.GET).asJsonPaths("$.data[*].id", "$.meta.next");
+        HttpResponse<JsonPathValues> async = Unirest.get(MockServer.GET).asJsonPathsAsync("$.data[*].id", "$.meta.next").get();
+
+        for (HttpResponse<JsonPathValues> r : Arrays.asList(response, async)) {
+            assertEquals(Arrays.asList(1, 2), r.getBody().get("$.data[*].id"));
+            assertEquals("/page/2", r.getBody().getFirst("$.meta.next").get());
+        }
+    }
+
+    @Test
+    public void invalidJsonIsAParsingErrorWhenSelectingByPath() {
+        HttpResponse<JsonPathValues> response = Unirest.get(MockServer.INVALID_REQUEST).asJsonPaths("$.a");
+
+        assertEquals(400, response.getStatus());
+        assertNull(response.getBody());
+        assertEquals("You did something bad", response.getParsingError().get().getOriginalBody());
+    }
+
     private void assertJson(HttpResponse<JsonNode> i) {
         assertEquals("bar",i.getBody().getObject().getJSONObject("params").getJSONArray("foo").get(0));
     }
+
+    @Test
+    public void bodiesCanBeMappedOnFirstUse() {
+        Unirest.config().lazyBodyDecoding(true);
+
+        HttpResponse<JsonNode> response = Unirest.get(MockServer.INVALID_REQUEST).asJson();
+
+        assertEquals("You did something bad", response.getRawBodyAsString());
+        assertNull(response.getBody());
+        assertEquals("You did something bad", response.getParsingError().get().getOriginalBody());
+    }
+
+    @Test
+    public void lazyBodiesAreOnlyMappedOnce() {
+        Unirest.config().lazyBodyDecoding(true);
+
+        HttpResponse<JsonNode> response = Unirest.get(MockServer.GET)
+                .queryString("foo", "bar")
+                .asJson();
+
+        assertSame(response.getBody(), response.getBody());
+        assertEquals("bar", response.getBody().getObject().getJSONObject("params").getJSONArray("foo").get(0));
+    }
+
+    @Test
+    public void errorResponsesCanBeLeftUnmapped() {
+        Unirest.config().mapErrorResponses(false);
+
+        HttpResponse<JsonNode> response = Unirest.get(MockServer.INVALID_REQUEST).asJson();
+
+        assertEquals(400, response.getStatus());
+        assertNull(response.getBody());
+        assertFalse(response.getParsingError().isPresent());
+        assertEquals("You did something bad", response.getRawBodyAsString());
+        assertArrayEquals("You did something bad".getBytes(), response.getRawBody());
+    }
+
+    @Test
+    public void successfulResponsesAreStillMappedWhenErrorsAreNot() {
+        Unirest.config().mapErrorResponses(false);
+
+        HttpResponse<JsonNode> response = Unirest.get(MockServer.GET)
+                .queryString("foo", "bar")
+                .asJson();
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getRawBody());
+        assertEquals("bar", response.getBody().getObject().getJSONObject("params").getJSONArray("foo").get(0));
+    }
 }
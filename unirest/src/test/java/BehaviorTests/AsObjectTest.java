@@ -30,7 +30,13 @@ import kong.unirest.*;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertNull;
 import static junit.framework.TestCase.assertTrue;
 
@@ -140,4 +146,101 @@ public class AsObjectTest extends BddTest {
             return new Gson().toJson(value);
         }
     }
+
+    @Test
+    public void mappersCanReadStraightFromTheStream() {
+        StreamingMapper mapper = new StreamingMapper();
+
+        Unirest.get(MockServer.GET)
+                .queryString("foo", "bar")
+                .withObjectMapper(mapper)
+                .asObject(RequestCapture.class)
+                .getBody()
+                .assertParam("foo", "bar");
+
+        assertTrue(mapper.read);
+    }
+
+    @Test
+    public void mappersCanWriteStraightToTheStream() {
+        StreamingMapper mapper = new StreamingMapper();
+        Unirest.config().setObjectMapper(mapper);
+
+        Unirest.post(MockServer.POST)
+                .body(new Foo("bär"))
+                .asObject(RequestCapture.class)
+                .getBody()
+                .asserBody("{\"bar\":\"bär\"}");
+
+        assertTrue(mapper.wrote);
+    }
+
+    private static class StreamingMapper extends JacksonObjectMapper {
+        private boolean read;
+        private boolean wrote;
+
+        @Override
+        public <T> T readValue(InputStream value, Charset charset, Class<T> valueType) {
+            try {
+                read = true;
+                return om.readValue(value, valueType);
+            } catch (IOException e) {
+                throw new UnirestException(e);
+            }
+        }
+
+        @Override
+        public void writeValue(Object value, OutputStream out) {
+            try {
+                wrote = true;
+                om.writeValue(out, value);
+            } catch (IOException e) {
+                throw new UnirestException(e);
+            }
+        }
+    }
+
+    @Test
+    public void successfulResponsesAreMappedToTheBodyType() {
+        HttpResponseWithError<RequestCapture, Foo> response = Unirest.get(MockServer.GET)
+                .queryString("foo", "bar")
+                .asObject(RequestCapture.class, Foo.class);
+
+        assertTrue(response.isSuccess());
+        response.getBody().assertParam("foo", "bar");
+        assertNull(response.getErrorBody());
+    }
+
+    @Test
+    public void errorResponsesAreMappedToTheErrorType() {
+        Unirest.config().mapErrorResponses(false);
+
+        HttpResponseWithError<Foo, RequestCapture> response = Unirest.get(MockServer.HOST + "/nothing-here")
+                .asObject(Foo.class, RequestCapture.class);
+
+        assertEquals(404, response.getStatus());
+        assertNull(response.getBody());
+        assertEquals(Integer.valueOf(404), response.getErrorBody().status);
+        assertFalse(response.getParsingError().isPresent());
+    }
+
+    @Test
+    public void errorResponsesAreMappedToTheErrorTypeAsync() throws Exception {
+        HttpResponseWithError<Foo, RequestCapture> response = Unirest.get(MockServer.HOST + "/nothing-here")
+                .asObjectAsync(Foo.class, RequestCapture.class)
+                .get();
+
+        assertNull(response.getBody());
+        assertEquals(Integer.valueOf(404), response.getErrorBody().status);
+    }
+
+    @Test
+    public void unmappableErrorBodiesAreParsingErrors() {
+        HttpResponseWithError<RequestCapture, RequestCapture> response = Unirest.get(MockServer.INVALID_REQUEST)
+                .asObject(RequestCapture.class, RequestCapture.class);
+
+        assertEquals(400, response.getStatus());
+        assertNull(response.getErrorBody());
+        assertEquals("You did something bad", response.getParsingError().get().getOriginalBody());
+    }
 }
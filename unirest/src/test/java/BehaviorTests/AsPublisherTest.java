@@ -0,0 +1,165 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package BehaviorTests;
+
+import kong.unirest.Flow;
+import kong.unirest.HttpResponse;
+import kong.unirest.Unirest;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsPublisherTest extends BddTest {
+
+    @Test
+    public void canReceiveTheBodyInChunks() throws Exception {
+        HttpResponse<Flow.Publisher<ByteBuffer>> response = Unirest.get(MockServer.LARGE)
+                .queryString("size", 5_000_000)
+                .asPublisherAsync()
+                .get();
+
+        Collector collector = new Collector(1);
+        response.getBody().subscribe(collector);
+
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(MockServer.largeBody(5_000_000), collector.done.get(5, TimeUnit.SECONDS));
+        assertTrue(collector.chunks > 1);
+    }
+
+    @Test
+    public void readingStopsWhenTheSubscriberHasNoDemand() throws Exception {
+        Collector collector = new Collector(0);
+        Unirest.get(MockServer.LARGE)
+                .queryString("size", 5_000_000)
+                .asPublisherAsync()
+                .get()
+                .getBody()
+                .subscribe(collector);
+
+        collector.subscription.request(2);
+        Thread.sleep(500);
+
+        assertEquals(2, collector.chunks);
+        collector.subscription.cancel();
+        assertTrue(collector.out.size() <= 64 * 1024);
+    }
+
+    @Test
+    public void emptyBodiesComplete() throws Exception {
+        Collector collector = new Collector(1);
+        Unirest.get(MockServer.LARGE)
+                .queryString("size", 0)
+                .asPublisherAsync()
+                .get()
+                .getBody()
+                .subscribe(collector);
+
+        assertEquals(0, collector.done.get(5, TimeUnit.SECONDS).length);
+    }
+
+    @Test
+    public void canOnlySubscribeOnce() throws Exception {
+        Flow.Publisher<ByteBuffer> body = Unirest.get(MockServer.LARGE)
+                .queryString("size", 1000)
+                .asPublisherAsync()
+                .get()
+                .getBody();
+
+        Collector first = new Collector(1);
+        Collector second = new Collector(1);
+        body.subscribe(first);
+        body.subscribe(second);
+
+        assertEquals(1000, first.done.get(5, TimeUnit.SECONDS).length);
+        assertTrue(second.done.isCompletedExceptionally());
+    }
+
+    @Test
+    public void bodiesCompressedAnywayFailTheSubscription() throws Exception {
+        HttpResponse<Flow.Publisher<ByteBuffer>> response = Unirest.get(MockServer.GZIP)
+                .asPublisherAsync()
+                .get();
+
+        Collector collector = new Collector(1);
+        response.getBody().subscribe(collector);
+
+        assertEquals(200, response.getStatus());
+        try {
+            collector.done.get(5, TimeUnit.SECONDS);
+            fail("should have failed");
+        } catch (ExecutionException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("gzip"));
+        }
+    }
+
+    private static class Collector implements Flow.Subscriber<ByteBuffer> {
+        private final CompletableFuture<byte[]> done = new CompletableFuture<>();
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private final long batch;
+        private volatile Flow.Subscription subscription;
+        private volatile int chunks;
+
+        Collector(long batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (batch > 0) {
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public synchronized void onNext(ByteBuffer item) {
+            chunks++;
+            out.write(item.array(), item.arrayOffset() + item.position(), item.remaining());
+            if (batch > 0) {
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(out.toByteArray());
+        }
+    }
+}
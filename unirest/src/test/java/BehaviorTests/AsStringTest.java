@@ -133,4 +133,14 @@ public class AsStringTest extends BddTest {
         assertEquals("šžýáíé", Unirest.get(MockServer.WINDOWS_LATIN_1_FILE)
                 .asString().getBody());
     }
+
+    @Test
+    public void unknownCharsetsFallBackToTheDefaultEncoding() {
+        MockServer.addResponseHeader("Content-Type", "application/json; charset=klingon-1");
+
+        HttpResponse<String> response = Unirest.get(MockServer.GET).queryString("foo", "bär").asString();
+
+        assertEquals("KLINGON-1", response.getHeaders().getFirst("Content-Type").replaceAll(".*=", "").toUpperCase());
+        TestUtil.readValue(response.getBody(), RequestCapture.class).assertParam("foo", "bär");
+    }
 }
@@ -30,6 +30,15 @@ import kong.unirest.NoopCallback;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
 import static kong.unirest.MockCallback.json;
 
 public class CallbackFutureTest extends BddTest {
@@ -68,4 +77,53 @@ public class CallbackFutureTest extends BddTest {
 
         assertFailed("java.net.ConnectException: Connection refused");
     }
-}
\ No newline at end of file
+
+    @Test(timeout = 5000)
+    public void transformationAndCallbacksCanRunOnAnExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "mapper"));
+        try {
+            Unirest.config().asyncResponseExecutor(executor);
+            AtomicReference<String> mappedOn = new AtomicReference<>();
+            AtomicReference<String> calledOn = new AtomicReference<>();
+
+            Unirest.get(MockServer.GET)
+                    .asObjectAsync(r -> {
+                        mappedOn.set(Thread.currentThread().getName());
+                        return r.getStatus();
+                    })
+                    .thenAccept(r -> calledOn.set(Thread.currentThread().getName()))
+                    .get();
+
+            assertEquals("mapper", mappedOn.get());
+            assertEquals("mapper", calledOn.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void transformationRunsInlineByDefault() throws Exception {
+        AtomicReference<String> mappedOn = new AtomicReference<>();
+
+        Unirest.get(MockServer.GET)
+                .asObjectAsync(r -> {
+                    mappedOn.set(Thread.currentThread().getName());
+                    return r.getStatus();
+                }).get();
+
+        assertTrue(mappedOn.get().startsWith("I/O dispatcher"));
+    }
+
+    @Test(timeout = 5000)
+    public void failuresInTheTransformationFailTheFuture() throws Exception {
+        try {
+            Unirest.get(MockServer.GET)
+                    .asObjectAsync(r -> {
+                        throw new IllegalStateException("boom");
+                    }).get();
+            fail("should have failed");
+        } catch (ExecutionException e) {
+            assertEquals("boom", e.getCause().getMessage());
+        }
+    }
+}
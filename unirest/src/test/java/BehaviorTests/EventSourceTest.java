@@ -0,0 +1,169 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package BehaviorTests;
+
+import kong.unirest.EventSource;
+import kong.unirest.Flow;
+import kong.unirest.HttpRequest;
+import kong.unirest.ServerSentEvent;
+import kong.unirest.SseListener;
+import kong.unirest.Unirest;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EventSourceTest extends BddTest {
+
+    @Test
+    public void reconnectsFromTheLastEventIdUntilTheServerSaysStop() throws Exception {
+        List<ServerSentEvent> events = new CopyOnWriteArrayList<>();
+        CompletableFuture<Throwable> closed = new CompletableFuture<>();
+
+        Unirest.get(MockServer.EVENTS).asEventSource(new SseListener() {
+            @Override
+            public void onEvent(ServerSentEvent event) {
+                events.add(event);
+            }
+
+            @Override
+            public void onClosed(Throwable cause) {
+                closed.complete(cause);
+            }
+        });
+
+        assertNull(closed.get(5, TimeUnit.SECONDS));
+        assertEquals("1 message one|2 custom two\nlines|3 message three", describe(events));
+    }
+
+    @Test
+    public void canCloseTheSource() throws Exception {
+        CompletableFuture<ServerSentEvent> first = new CompletableFuture<>();
+        CompletableFuture<Throwable> closed = new CompletableFuture<>();
+
+        EventSource source = Unirest.get(MockServer.EVENTS).asEventSource(new SseListener() {
+            @Override
+            public void onEvent(ServerSentEvent event) {
+                first.complete(event);
+            }
+
+            @Override
+            public void onClosed(Throwable cause) {
+                closed.complete(cause);
+            }
+        });
+        first.get(5, TimeUnit.SECONDS);
+        source.close();
+
+        assertNull(closed.get(5, TimeUnit.SECONDS));
+        assertFalse(source.isOpen());
+    }
+
+    @Test
+    public void somethingOtherThanAEventStreamStopsTheSource() throws Exception {
+        CompletableFuture<Throwable> closed = new CompletableFuture<>();
+
+        Unirest.get(MockServer.GET).asEventSource(new SseListener() {
+            @Override
+            public void onEvent(ServerSentEvent event) {
+            }
+
+            @Override
+            public void onClosed(Throwable cause) {
+                closed.complete(cause);
+            }
+        });
+
+        assertTrue(closed.get(5, TimeUnit.SECONDS).getMessage().startsWith("Expected a text/event-stream but got a 200"));
+    }
+
+    @Test
+    public void canSubscribeToTheEvents() throws Exception {
+        List<ServerSentEvent> events = collect(Unirest.get(MockServer.EVENTS).asEventPublisher());
+
+        assertEquals("1 message one|2 custom two\nlines|3 message three", describe(events));
+    }
+
+    @Test
+    public void eachSubscriberStartsFromTheBeginningWithoutChangingTheRequest() throws Exception {
+        HttpRequest request = Unirest.get(MockServer.EVENTS);
+        Flow.Publisher<ServerSentEvent> publisher = request.asEventPublisher();
+
+        assertEquals("1 message one|2 custom two\nlines|3 message three", describe(collect(publisher)));
+        assertEquals("1 message one|2 custom two\nlines|3 message three", describe(collect(publisher)));
+        assertFalse(request.getHeaders().containsKey("Last-Event-ID"));
+        assertFalse(request.getHeaders().containsKey("Cache-Control"));
+        assertFalse(request.getHeaders().containsKey("Accept"));
+    }
+
+    private static List<ServerSentEvent> collect(Flow.Publisher<ServerSentEvent> publisher) throws Exception {
+        List<ServerSentEvent> events = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+
+        publisher.subscribe(new Flow.Subscriber<ServerSentEvent>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription = s;
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(ServerSentEvent item) {
+                events.add(item);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+
+        done.get(5, TimeUnit.SECONDS);
+        return events;
+    }
+
+    private static String describe(List<ServerSentEvent> events) {
+        return events.stream()
+                .map(e -> e.getId() + " " + e.getEvent() + " " + e.getData())
+                .collect(Collectors.joining("|"));
+    }
+}
@@ -0,0 +1,204 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package BehaviorTests;
+
+import kong.unirest.FailureCause;
+import kong.unirest.HttpResponse;
+import kong.unirest.JsonNode;
+import kong.unirest.Unirest;
+import kong.unirest.UnirestException;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FailuresAsResponsesTest extends BddTest {
+
+    @Override
+    public void setUp() {
+        super.setUp();
+        Unirest.config().failuresAsResponses(true);
+    }
+
+    @Test
+    public void refusedConnectionsAreResponses() throws Exception {
+        String url = "http://localhost:" + unusedPort() + "/get";
+
+        HttpResponse<String> sync = Unirest.get(url).asString();
+        HttpResponse<String> async = Unirest.get(url).asStringAsync().get();
+
+        for (HttpResponse<String> response : new HttpResponse[]{sync, async}) {
+            assertEquals(0, response.getStatus());
+            assertFalse(response.isSuccess());
+            assertNull(response.getBody());
+            assertEquals(FailureCause.CONNECTION_FAILED, response.getFailureCause().get());
+            assertTrue(response.getFailure().isPresent());
+        }
+    }
+
+    @Test
+    public void timeoutsAreResponses() throws Exception {
+        Unirest.config().socketTimeout(200);
+        try (ServerSocket silent = new ServerSocket(0)) {
+            String url = "http://localhost:" + silent.getLocalPort() + "/get";
+
+            assertEquals(FailureCause.TIMEOUT, Unirest.get(url).asJson().getFailureCause().get());
+            assertEquals(FailureCause.TIMEOUT, Unirest.get(url).asJsonAsync().get().getFailureCause().get());
+        }
+    }
+
+    @Test
+    public void rejectedResponseExecutorsAreResponses() throws Exception {
+        Unirest.config().asyncResponseExecutor(r -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        HttpResponse<String> response = Unirest.get(MockServer.GET).asStringAsync().get();
+
+        assertEquals(0, response.getStatus());
+        assertEquals(FailureCause.OTHER, response.getFailureCause().get());
+        assertTrue(response.getFailure().get() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    public void successfulResponsesHaveNoFailure() {
+        HttpResponse<JsonNode> response = Unirest.get(MockServer.GET).asJson();
+
+        assertEquals(200, response.getStatus());
+        assertFalse(response.getFailureCause().isPresent());
+        assertFalse(response.getFailure().isPresent());
+    }
+
+    @Test
+    public void parsingErrorsHaveNoStackTrace() {
+        HttpResponse<JsonNode> response = Unirest.get(MockServer.INVALID_REQUEST).asJson();
+
+        assertEquals(400, response.getStatus());
+        assertEquals(0, response.getParsingError().get().getStackTrace().length);
+        assertEquals("You did something bad", response.getParsingError().get().getOriginalBody());
+    }
+
+    @Test
+    public void streamingResponsesStillThrow() throws IOException {
+        try {
+            Unirest.get("http://localhost:" + unusedPort() + "/get").asInputStream();
+            fail("Expected a UnirestException");
+        } catch (UnirestException e) {
+            assertEquals(FailureCause.CONNECTION_FAILED, FailureCause.of(e));
+        }
+    }
+
+    @Test
+    public void pooledBufferResponsesStillThrow() throws Exception {
+        String url = "http://localhost:" + unusedPort() + "/get";
+        try {
+            Unirest.get(url).asByteBuffer();
+            fail("Expected a UnirestException");
+        } catch (UnirestException e) {
+            assertEquals(FailureCause.CONNECTION_FAILED, FailureCause.of(e));
+        }
+        try {
+            Unirest.get(url).asByteBufferAsync().get();
+            fail("Expected an ExecutionException");
+        } catch (ExecutionException e) {
+            assertEquals(FailureCause.CONNECTION_FAILED, FailureCause.of(e));
+        }
+    }
+
+    @Test
+    public void failedSegmentsOfParallelDownloadsAreRetried() throws Exception {
+        AtomicBoolean dropped = new AtomicBoolean();
+        Unirest.config().addInterceptor((r, c) -> {
+            if (r.containsHeader("Range") && dropped.compareAndSet(false, true)) {
+                throw new IOException("dropped");
+            }
+        });
+        Path file = Files.createTempFile("unirest", ".part");
+        Files.delete(file);
+        try {
+            HttpResponse<File> response = Unirest.get(MockServer.LARGE)
+                    .queryString("size", 300_000)
+                    .asFileInParallel(file.toString(), 4);
+
+            assertTrue(dropped.get());
+            assertEquals(200, response.getStatus());
+            assertArrayEquals(MockServer.largeBody(300_000), Files.readAllBytes(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void parallelDownloadsFailWhenASegmentKeepsFailing() throws Exception {
+        Unirest.config().addInterceptor((r, c) -> {
+            if (r.containsHeader("Range")) {
+                throw new IOException("dropped");
+            }
+        });
+        Path file = Files.createTempFile("unirest", ".part");
+        Files.delete(file);
+        try {
+            Unirest.get(MockServer.LARGE)
+                    .queryString("size", 300_000)
+                    .asFileInParallel(file.toString(), 4);
+            fail("Expected a UnirestException");
+        } catch (UnirestException e) {
+            assertFalse(Files.exists(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void failuresAreThrownWhenTurnedOff() throws IOException {
+        Unirest.config().failuresAsResponses(false);
+        try {
+            Unirest.get("http://localhost:" + unusedPort() + "/get").asString();
+            fail("Expected a UnirestException");
+        } catch (UnirestException e) {
+            assertEquals(FailureCause.CONNECTION_FAILED, FailureCause.of(e));
+        }
+    }
+
+    private int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
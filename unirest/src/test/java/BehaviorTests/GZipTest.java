@@ -25,9 +25,21 @@
 
 package BehaviorTests;
 
+import kong.unirest.ContentDecoder;
+import kong.unirest.StreamResponse;
+import kong.unirest.TestUtil;
 import kong.unirest.Unirest;
 import org.junit.Test;
 
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
 public class GZipTest extends BddTest {
     @Test
     public void testGzip() {
@@ -36,7 +48,7 @@ public class GZipTest extends BddTest {
                 .asObject(RequestCapture.class)
                 .getBody()
                 .assertParam("zipme", "up")
-                .assertHeader("Accept-Encoding","gzip");
+                .assertHeader("Accept-Encoding","gzip, deflate");
     }
 
     @Test
@@ -47,7 +59,7 @@ public class GZipTest extends BddTest {
                 .get()
                 .getBody()
                 .assertParam("zipme", "up")
-                .assertHeader("Accept-Encoding","gzip");
+                .assertHeader("Accept-Encoding","gzip, deflate");
     }
 
     @Test
@@ -60,4 +72,76 @@ public class GZipTest extends BddTest {
                 .getBody()
                 .assertNoHeader("Accept-Encoding");
     }
+
+    @Test
+    public void theRawContentIsDecodedToo() {
+        String body = Unirest.get(MockServer.GZIP)
+                .queryString("zipme", "up")
+                .asObject(r -> read(r.getContent()))
+                .getBody();
+
+        TestUtil.readValue(body, RequestCapture.class)
+                .assertParam("zipme", "up");
+    }
+
+    @Test
+    public void theReaderIsDecodedAsync() throws Exception {
+        String body = Unirest.get(MockServer.GZIP)
+                .queryString("zipme", "up")
+                .asObjectAsync(r -> new BufferedReader(r.getContentReader()).lines().collect(Collectors.joining()))
+                .get()
+                .getBody();
+
+        TestUtil.readValue(body, RequestCapture.class)
+                .assertParam("zipme", "up");
+    }
+
+    @Test
+    public void streamedResponsesAreDecoded() throws Exception {
+        try (StreamResponse<InputStream> response = Unirest.get(MockServer.GZIP)
+                .queryString("zipme", "up")
+                .asInputStreamAsync()
+                .get()) {
+
+            TestUtil.readValue(read(response.getBody()), RequestCapture.class)
+                    .assertParam("zipme", "up");
+        }
+    }
+
+    @Test
+    public void canRegisterMoreContentDecoders() throws Exception {
+        AtomicInteger used = new AtomicInteger();
+        Unirest.config().addContentDecoder(new ContentDecoder("passthrough", 0.5, in -> {
+            used.incrementAndGet();
+            return in;
+        }));
+        MockServer.addResponseHeader("Content-Encoding", "passthrough");
+
+        Unirest.get(MockServer.GET)
+                .asObject(RequestCapture.class)
+                .getBody()
+                .assertHeader("Accept-Encoding", "gzip, deflate, passthrough;q=0.5");
+
+        Unirest.get(MockServer.GET)
+                .asObjectAsync(RequestCapture.class)
+                .get()
+                .getBody()
+                .assertHeader("Accept-Encoding", "gzip, deflate, passthrough;q=0.5");
+
+        assertEquals(2, used.get());
+    }
+
+    @Test
+    public void contentWithAnEncodingWithoutADecoderIsLeftAlone() {
+        MockServer.addResponseHeader("Content-Encoding", "mystery");
+
+        Unirest.get(MockServer.GET)
+                .asObject(RequestCapture.class)
+                .getBody()
+                .assertHeader("Accept-Encoding", "gzip, deflate");
+    }
+
+    private static String read(InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)).lines().collect(Collectors.joining());
+    }
 }
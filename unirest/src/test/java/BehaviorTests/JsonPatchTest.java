@@ -26,6 +26,7 @@
 package BehaviorTests;
 
 import com.google.common.collect.ImmutableMap;
+import kong.unirest.JacksonJsonEngine;
 import kong.unirest.Unirest;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -137,6 +138,24 @@ public class JsonPatchTest extends BddTest {
                 .assertJsonPatch(copy, "/new/location", "/old/location");
     }
 
+    @Test
+    public void patchesCanBeWrittenByAnotherJsonEngine() {
+        Unirest.config().jsonEngine(new JacksonJsonEngine());
+        JSONObject basicJson = new JSONObject().put("foo", "bar");
+
+        Unirest.jsonPatch(MockServer.PATCH)
+                .add("/maps", ImmutableMap.of("foo", "bar"))
+                .add("/jsonArrays", new JSONArray().put(basicJson))
+                .remove("/bugs")
+                .move("/old/location", "/new/location")
+                .asObject(RequestCapture.class)
+                .getBody()
+                .assertJsonPatch(add, "/maps", basicJson)
+                .assertJsonPatch(add, "/jsonArrays", new JSONArray().put(basicJson))
+                .assertJsonPatch(remove, "/bugs", null)
+                .assertJsonPatch(move, "/new/location", "/old/location");
+    }
+
     @Test
     public void thatsSomeValidJson() throws IOException {
         String patch = Unirest.jsonPatch(MockServer.PATCH)
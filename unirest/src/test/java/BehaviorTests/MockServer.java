@@ -38,6 +38,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -54,7 +55,9 @@ public class MockServer {
 	public static final String WINDOWS_LATIN_1_FILE = HOST + "data/cp1250.txt";
 	public static final String REDIRECT = HOST + "/redirect";
 	public static final String BINARYFILE = HOST + "/binary";
+	public static final String LARGE = HOST + "/large";
 	public static final String NOBODY = HOST + "/nobody";
+	public static final String EVENTS = HOST + "/events";
 	public static final String PAGED = HOST + "/paged";
 	public static final String PROXY = "localhost:4567";
 	public static final String POST = HOST + "/post";
@@ -99,7 +102,10 @@ public class MockServer {
 		get("/get/:params/passed/:another", MockServer::jsonResponse);
 		get("/proxy", MockServer::proxiedResponse);
 		get("/binary", MockServer::file);
+		get("/large", MockServer::large);
+		head("/large", MockServer::large);
 		get("/paged", MockServer::paged);
+		get("/events", MockServer::events);
         Runtime.getRuntime().addShutdownHook(new Thread(Spark::stop));
 		try {
 			new CountDownLatch(1).await(2, TimeUnit.SECONDS);
@@ -135,6 +141,66 @@ public class MockServer {
 		 return null;
 	}
 
+	private static Object large(Request request, Response response) throws Exception {
+		int size = Integer.parseInt(Optional.ofNullable(request.queryParams("size")).orElse("1048576"));
+		int start = 0;
+		int end = size - 1;
+		String range = request.headers("Range");
+		String etag = "\"large-" + size + "\"";
+		String ifRange = request.headers("If-Range");
+		response.raw().setContentType("application/octet-stream");
+		response.header("Accept-Ranges", "bytes");
+		response.header("ETag", etag);
+		if (range != null && range.startsWith("bytes=") && (ifRange == null || ifRange.equals(etag))) {
+			String[] parts = range.substring(6).split("-", -1);
+			start = Integer.parseInt(parts[0]);
+			if (!parts[1].isEmpty()) {
+				end = Math.min(Integer.parseInt(parts[1]), size - 1);
+			}
+			if (start >= size) {
+				response.status(416);
+				response.header("Content-Range", "bytes */" + size);
+				return "";
+			}
+			response.status(206);
+			response.header("Content-Range", "bytes " + start + "-" + end + "/" + size);
+		} else {
+			response.status(200);
+		}
+		response.raw().setContentLength(end - start + 1);
+		final ServletOutputStream out = response.raw().getOutputStream();
+		byte[] chunk = largeBody(8192);
+		for (int i = start; i <= end; ) {
+			int len = Math.min(chunk.length - i % chunk.length, end - i + 1);
+			out.write(chunk, i % chunk.length, len);
+			i += len;
+		}
+		out.close();
+		return null;
+	}
+
+	// picks up from the Last-Event-ID, closing the stream after each batch and ending it with a 204
+	private static Object events(Request request, Response response) {
+		String last = Optional.ofNullable(request.headers("Last-Event-ID")).orElse("");
+		if (last.equals("3")) {
+			response.status(204);
+			return "";
+		}
+		response.raw().setContentType("text/event-stream");
+		if (last.equals("2")) {
+			return "id: 3\r\ndata: three\r\n\r\n";
+		}
+		return "retry: 10\n: a comment\nid: 1\ndata: one\n\nevent: custom\nid: 2\ndata: two\ndata:lines\n\ndata: incomplete";
+	}
+
+	public static byte[] largeBody(int size) {
+		byte[] body = new byte[size];
+		for (int i = 0; i < size; i++) {
+			body[i] = (byte) ('a' + (i % 8192) % 26);
+		}
+		return body;
+	}
+
 	private static Object nobody(Request request, Response response) {
 		Spark.halt(200);
 		return null;
@@ -33,6 +33,10 @@ import org.json.JSONObject;
 import org.junit.Test;
 import kong.unirest.MockCallback;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import static kong.unirest.TestUtil.assertException;
 
 public class SendBodyTest extends BddTest {
@@ -123,6 +127,80 @@ public class SendBodyTest extends BddTest {
                 .asserBody("{\"krusty\":\"krab\"}");
     }
 
+    @Test
+    public void postBodyAsInputStream() {
+        byte[] bytes = "{\"krusty\":\"krab\"}".getBytes(StandardCharsets.UTF_8);
+
+        Unirest.post(MockServer.POST)
+                .body(new ByteArrayInputStream(bytes))
+                .asObject(RequestCapture.class)
+                .getBody()
+                .asserBody("{\"krusty\":\"krab\"}");
+    }
+
+    @Test
+    public void postBodyAsInputStreamWithKnownLength() throws Exception {
+        byte[] bytes = "{\"krusty\":\"krab\"}".getBytes(StandardCharsets.UTF_8);
+
+        Unirest.post(MockServer.POST)
+                .body(new ByteArrayInputStream(bytes), bytes.length)
+                .asObjectAsync(RequestCapture.class)
+                .get()
+                .getBody()
+                .asserBody("{\"krusty\":\"krab\"}")
+                .assertHeader("Content-Length", String.valueOf(bytes.length));
+    }
+
+    @Test
+    public void postBodyAsDirectByteBuffer() throws Exception {
+        byte[] bytes = "{\"krusty\":\"krab\"}".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+
+        Unirest.post(MockServer.POST)
+                .body(buffer)
+                .asObject(RequestCapture.class)
+                .getBody()
+                .asserBody("{\"krusty\":\"krab\"}");
+
+        Unirest.post(MockServer.POST)
+                .body(buffer)
+                .asObjectAsync(RequestCapture.class)
+                .get()
+                .getBody()
+                .asserBody("{\"krusty\":\"krab\"}");
+    }
+
+    @Test
+    public void postBodyAsSliceOfAHeapByteBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap("xx{\"krusty\":\"krab\"}xx".getBytes(StandardCharsets.UTF_8), 2, 17);
+
+        Unirest.post(MockServer.POST)
+                .body(buffer.slice())
+                .asObject(RequestCapture.class)
+                .getBody()
+                .asserBody("{\"krusty\":\"krab\"}");
+    }
+
+    @Test
+    public void streamingBodiesCanBeMadeReplayable() throws Exception {
+        Unirest.config().requestBodyReplayBuffer(4);
+        byte[] bytes = "{\"krusty\":\"krab\"}".getBytes(StandardCharsets.UTF_8);
+
+        Unirest.post(MockServer.POST)
+                .body(new ByteArrayInputStream(bytes))
+                .asObject(RequestCapture.class)
+                .getBody()
+                .asserBody("{\"krusty\":\"krab\"}");
+
+        Unirest.post(MockServer.POST)
+                .body(new ByteArrayInputStream(bytes))
+                .asObjectAsync(RequestCapture.class)
+                .get()
+                .getBody()
+                .asserBody("{\"krusty\":\"krab\"}");
+    }
+
     @Test
     public void cantPostObjectWithoutObjectMapper(){
         Unirest.config().setObjectMapper(null);
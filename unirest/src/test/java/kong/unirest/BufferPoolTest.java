@@ -0,0 +1,149 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class BufferPoolTest {
+
+    private final BufferPool pool = new BufferPool(64 * 1024);
+
+    @Test
+    public void arraysAreRoundedUpToAPowerOfTwo() {
+        assertEquals(4096, pool.acquire(1).length);
+        assertEquals(8192, pool.acquire(4097).length);
+    }
+
+    @Test
+    public void releasedArraysAreReused() {
+        byte[] first = pool.acquire(5000);
+        pool.release(first);
+
+        assertEquals(8192, pool.getRetainedBytes());
+        assertSame(first, pool.acquire(6000));
+        assertEquals(0, pool.getRetainedBytes());
+    }
+
+    @Test
+    public void arraysNotFromThePoolAreIgnored() {
+        pool.release(new byte[5000]);
+        pool.release(new byte[1024]);
+
+        assertEquals(0, pool.getRetainedBytes());
+    }
+
+    @Test
+    public void willNotRetainMoreThanTheMax() {
+        pool.release(new byte[32 * 1024]);
+        pool.release(new byte[32 * 1024]);
+        pool.release(new byte[32 * 1024]);
+
+        assertEquals(64 * 1024, pool.getRetainedBytes());
+    }
+
+    @Test
+    public void readAllWithAKnownLength() throws Exception {
+        byte[] body = body(100_000);
+
+        assertArrayEquals(body, pool.readAll(trickle(body), body.length));
+    }
+
+    @Test
+    public void readAllWithAnUnknownLength() throws Exception {
+        byte[] body = body(200_000);
+
+        assertArrayEquals(body, pool.readAll(trickle(body), -1));
+        assertTrue(pool.getRetainedBytes() > 0);
+    }
+
+    @Test
+    public void readAllWhenTheStreamIsShorterThanExpected() throws Exception {
+        byte[] body = body(10);
+
+        assertArrayEquals(body, pool.readAll(new ByteArrayInputStream(body), 20));
+    }
+
+    @Test
+    public void theDeclaredLengthIsOnlyAHintForTheArray() throws Exception {
+        byte[] body = body(10);
+
+        assertArrayEquals(body, pool.readAll(new ByteArrayInputStream(body), 2_000_000_000L));
+        ByteBuffer buffer = pool.readPooled(new ByteArrayInputStream(body), 2_000_000_000L);
+        assertEquals(10, buffer.remaining());
+        assertTrue(buffer.capacity() <= 1024 * 1024);
+    }
+
+    @Test
+    public void readAllGrowsTowardsALargeKnownLength() throws Exception {
+        byte[] body = body(3_000_000);
+
+        assertArrayEquals(body, pool.readAll(trickle(body), body.length));
+    }
+
+    @Test
+    public void readPooledGrowsAsNeeded() throws Exception {
+        byte[] body = body(300_000);
+
+        ByteBuffer buffer = pool.readPooled(trickle(body), -1);
+
+        assertEquals(0, buffer.position());
+        assertEquals(300_000, buffer.remaining());
+        for (int i = 0; i < body.length; i++) {
+            assertEquals(body[i], buffer.get(i));
+        }
+    }
+
+    @Test
+    public void emptyStreams() throws Exception {
+        assertEquals(0, pool.readAll(new ByteArrayInputStream(new byte[0]), -1).length);
+        assertEquals(0, pool.readPooled(new ByteArrayInputStream(new byte[0]), 0).remaining());
+    }
+
+    private static byte[] body(int size) {
+        byte[] body = new byte[size];
+        for (int i = 0; i < size; i++) {
+            body[i] = (byte) i;
+        }
+        return body;
+    }
+
+    private static InputStream trickle(byte[] body) {
+        return new FilterInputStream(new ByteArrayInputStream(body)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 1000));
+            }
+        };
+    }
+}
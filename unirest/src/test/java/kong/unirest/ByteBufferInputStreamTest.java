@@ -0,0 +1,55 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class ByteBufferInputStreamTest {
+
+    @Test
+    public void readsTheRemainingBytesWithoutMovingTheBuffer() throws Exception {
+        ByteBuffer direct = ByteBuffer.allocateDirect(5).put(new byte[]{1, 2, 3, (byte) 0xFF, 5});
+        direct.position(1).limit(4);
+
+        InputStream in = new ByteBufferInputStream(direct);
+        byte[] read = new byte[10];
+
+        assertEquals(3, in.available());
+        assertEquals(2, in.read());
+        assertEquals(2, in.read(read, 0, 10));
+        assertEquals(3, read[0]);
+        assertEquals(0xFF, read[1] & 0xFF);
+        assertEquals(-1, in.read());
+        assertEquals(-1, in.read(read, 0, 10));
+        assertEquals(1, direct.position());
+        assertEquals(4, direct.limit());
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ContentDecoderTest {
+
+    @Test
+    public void advertisesItsQuality() {
+        assertEquals("gzip", ContentDecoder.gzip().toString());
+        assertEquals("br;q=0.8", new ContentDecoder("BR", 0.8, in -> in).toString());
+        assertEquals("zstd;q=0.333", new ContentDecoder("zstd", 1 / 3.0, in -> in).toString());
+        assertEquals("zstd;q=0", new ContentDecoder("zstd", 0, in -> in).toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void qualityCantBeOverOne() {
+        new ContentDecoder("br", 1.5, in -> in);
+    }
+
+    @Test
+    public void handlesTheXFormOfItsEncoding() {
+        assertTrue(ContentDecoder.gzip().handles(" X-GZIP "));
+        assertTrue(ContentDecoder.gzip().handles("gzip"));
+        assertFalse(ContentDecoder.gzip().handles("deflate"));
+    }
+
+    @Test
+    public void registeringADecoderReplacesOneForTheSameEncoding() {
+        Config config = new Config()
+                .addContentDecoder(new ContentDecoder("br", 1, in -> in))
+                .addContentDecoder(new ContentDecoder("gzip", 0.5, in -> in));
+
+        assertEquals("deflate, br, gzip;q=0.5", config.getContentDecoders().stream()
+                .map(ContentDecoder::toString)
+                .reduce((a, b) -> a + ", " + b).get());
+        assertEquals(0.5, config.getContentDecoder("x-gzip").get().getQuality(), 0);
+    }
+
+    @Test
+    public void theBuiltInDecodersInflate() throws IOException {
+        ByteArrayOutputStream zipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(zipped)) {
+            out.write("hello".getBytes());
+        }
+
+        try (InputStream in = ContentDecoder.gzip().decode(new ByteArrayInputStream(zipped.toByteArray()))) {
+            byte[] read = new byte[10];
+            assertEquals(5, in.read(read));
+            assertEquals("hello", new String(read, 0, 5));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+public class EventStreamParserTest {
+
+    private final List<ServerSentEvent> events = new ArrayList<>();
+    private final AtomicLong retry = new AtomicLong();
+    private final EventStreamParser parser = new EventStreamParser(events::add, retry::set);
+
+    @Test
+    public void eventsCanBeSplitAnywhere() {
+        byte[] stream = ("\uFEFFid: 7\r\nevent: greeting\rdata: h\u00e9llo\ndata\ndata:  world\r\n\r\n"
+                + ": ignored\ndata: second\n\n").getBytes(StandardCharsets.UTF_8);
+
+        for (int split = 0; split <= stream.length; split++) {
+            events.clear();
+            parser.reset();
+            parser.feed(stream, 0, split);
+            parser.feed(stream, split, stream.length - split);
+
+            assertEquals(2, events.size());
+            assertEquals("7", events.get(0).getId());
+            assertEquals("greeting", events.get(0).getEvent());
+            assertEquals("h\u00e9llo\n\n world", events.get(0).getData());
+            assertEquals("message", events.get(1).getEvent());
+            assertEquals("second", events.get(1).getData());
+        }
+    }
+
+    @Test
+    public void retryMustBeAllDigits() {
+        feed("retry: 1500\n\nretry: 15s\n\n");
+
+        assertEquals(1500, retry.get());
+        assertEquals(0, events.size());
+    }
+
+    @Test
+    public void anEmptyIdResetsItAndIdsWithNullsAreIgnored() {
+        feed("id: 1\ndata: a\n\nid: 2\u0000\ndata: b\n\nid\ndata: c\n\n");
+
+        assertEquals("1", events.get(0).getId());
+        assertEquals("1", events.get(1).getId());
+        assertEquals("", events.get(2).getId());
+    }
+
+    @Test
+    public void incompleteEventsAreDroppedOnReset() {
+        feed("data: half");
+        parser.reset();
+        feed("data: whole\n\n");
+
+        assertEquals(1, events.size());
+        assertEquals("whole", events.get(0).getData());
+    }
+
+    private void feed(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        parser.feed(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.HttpHostConnectException;
+import org.junit.Test;
+
+import javax.net.ssl.SSLHandshakeException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class FailureCauseTest {
+
+    @Test
+    public void classifiesTransportFailures() {
+        assertEquals(FailureCause.UNKNOWN_HOST, FailureCause.of(new UnknownHostException("nope")));
+        assertEquals(FailureCause.CONNECTION_FAILED, FailureCause.of(new HttpHostConnectException(new ConnectException(), null)));
+        assertEquals(FailureCause.TIMEOUT, FailureCause.of(new SocketTimeoutException()));
+        assertEquals(FailureCause.TIMEOUT, FailureCause.of(new ConnectTimeoutException()));
+        assertEquals(FailureCause.TLS, FailureCause.of(new SSLHandshakeException("bad cert")));
+        assertEquals(FailureCause.CANCELLED, FailureCause.of(new CancellationException()));
+        assertEquals(FailureCause.IO, FailureCause.of(new SocketException("Connection reset")));
+        assertEquals(FailureCause.OTHER, FailureCause.of(new IllegalStateException()));
+    }
+
+    @Test
+    public void looksThroughWrappers() {
+        assertEquals(FailureCause.TIMEOUT, FailureCause.of(new UnirestException(new ExecutionException(new SocketTimeoutException()))));
+        assertEquals(FailureCause.RESPONSE_TOO_LARGE, FailureCause.of(new IOException(new ResponseTooLargeException(10))));
+    }
+
+    @Test
+    public void cancelledResponsesShareOneStacklessException() {
+        Throwable one = FailedResponse.cancelled().getFailure().get();
+
+        assertSame(one, FailedResponse.cancelled().getFailure().get());
+        assertEquals(0, one.getStackTrace().length);
+        assertEquals(FailureCause.CANCELLED, FailedResponse.cancelled().getFailureCause().get());
+    }
+}
@@ -27,6 +27,10 @@ package kong.unirest;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.Assert.assertEquals;
 
 public class HeadersTest {
@@ -49,4 +53,44 @@ public class HeadersTest {
 
         assertEquals(0, h.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void viewsAreOnlyFetchedOnFirstUse() {
+        AtomicInteger fetched = new AtomicInteger();
+        Headers h = new Headers(() -> {
+            fetched.incrementAndGet();
+            return entries();
+        });
+
+        assertEquals(0, fetched.get());
+        assertEquals("text/plain", h.getFirst("content-type"));
+        assertEquals(Arrays.asList("a", "b"), h.get("Set-Cookie"));
+        assertEquals(2, h.size());
+        assertEquals(1, fetched.get());
+    }
+
+    @Test
+    public void viewsAreCopiedWhenChanged() {
+        List<Headers.Entry> original = entries();
+        Headers h = new Headers(() -> original);
+
+        h.add("foo", "bar");
+        h.replace("Content-Type", "application/json");
+
+        assertEquals(3, original.size());
+        assertEquals("bar", h.getFirst("foo"));
+        assertEquals("application/json", h.getFirst("Content-Type"));
+        assertEquals(4, h.all().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void allIsReadOnlyForViews() {
+        new Headers(this::entries).all().clear();
+    }
+
+    private List<Headers.Entry> entries() {
+        return Arrays.asList(new Headers.Entry("Content-Type", "text/plain"),
+                new Headers.Entry("Set-Cookie", "a"),
+                new Headers.Entry("Set-Cookie", "b"));
+    }
+}
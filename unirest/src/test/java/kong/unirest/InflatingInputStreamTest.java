@@ -0,0 +1,156 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.junit.Assert.*;
+
+public class InflatingInputStreamTest {
+
+    private final byte[] content = textBytes(100_000);
+
+    @Test
+    public void canInflateGzip() throws IOException {
+        assertArrayEquals(content, read(InflatingInputStream.gzip(stream(gzip(content)))));
+    }
+
+    @Test
+    public void canInflateEveryMemberOfAGzipStream() throws IOException {
+        ByteArrayOutputStream both = new ByteArrayOutputStream();
+        both.write(gzip(content));
+        both.write(gzip(content));
+
+        byte[] read = read(InflatingInputStream.gzip(stream(both.toByteArray())));
+
+        assertEquals(content.length * 2, read.length);
+    }
+
+    @Test
+    public void canInflateZlibWrappedAndRawDeflate() throws IOException {
+        assertArrayEquals(content, read(InflatingInputStream.deflate(stream(deflate(content, false)))));
+        assertArrayEquals(content, read(InflatingInputStream.deflate(stream(deflate(content, true)))));
+    }
+
+    @Test
+    public void emptyBodiesAreEmpty() throws IOException {
+        assertEquals(-1, InflatingInputStream.gzip(stream(new byte[0])).read());
+        assertEquals(-1, InflatingInputStream.deflate(stream(new byte[0])).read());
+    }
+
+    @Test
+    public void inflatersCanBeReusedOnceClosed() throws IOException {
+        for (int i = 0; i < 100; i++) {
+            assertArrayEquals(content, read(InflatingInputStream.gzip(stream(gzip(content)))));
+        }
+    }
+
+    @Test
+    public void inflatersGoBackToThePoolAtTheEndOfTheContent() throws IOException {
+        InputStream in = InflatingInputStream.gzip(stream(gzip(content)));
+        assertNotEquals(-1, in.read());
+        int idle = InflatingInputStream.idleInflaters();
+
+        byte[] buffer = new byte[1000];
+        while (in.read(buffer) != -1) {
+            // reads to the end without closing
+        }
+        assertEquals(idle + 1, InflatingInputStream.idleInflaters());
+        assertEquals(-1, in.read());
+
+        in.close();
+        assertEquals(idle + 1, InflatingInputStream.idleInflaters());
+    }
+
+    @Test(expected = ZipException.class)
+    public void corruptContentFails() throws IOException {
+        byte[] zipped = gzip(content);
+        zipped[zipped.length - 6]++;
+        read(InflatingInputStream.gzip(stream(zipped)));
+    }
+
+    @Test
+    public void nothingIsReadUntilTheFirstRead() throws IOException {
+        ByteArrayInputStream source = stream(gzip(content));
+        int available = source.available();
+
+        InputStream in = InflatingInputStream.gzip(source);
+
+        assertEquals(available, source.available());
+        in.close();
+    }
+
+    private static byte[] read(InputStream in) throws IOException {
+        try (InputStream stream = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1000];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream zip = new GZIPOutputStream(out)) {
+            zip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] bytes, boolean raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream zip = new DeflaterOutputStream(out, new Deflater(Deflater.DEFAULT_COMPRESSION, raw))) {
+            zip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static ByteArrayInputStream stream(byte[] bytes) {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    private static byte[] textBytes(int size) {
+        Random random = new Random(7);
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) ('a' + random.nextInt(4));
+        }
+        return bytes;
+    }
+}
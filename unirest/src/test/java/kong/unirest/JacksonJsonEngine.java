@@ -0,0 +1,90 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.Reader;
+
+public class JacksonJsonEngine implements JsonEngine {
+
+    private final com.fasterxml.jackson.databind.ObjectMapper om = new com.fasterxml.jackson.databind.ObjectMapper();
+
+    @Override
+    public Object parse(Reader json) {
+        try {
+            com.fasterxml.jackson.databind.JsonNode tree = om.readTree(json);
+            if (tree == null || tree.isMissingNode()) {
+                return om.createObjectNode();
+            } else if (!tree.isContainerNode()) {
+                throw new JSONException("A JSON text must be an object or array");
+            }
+            return tree;
+        } catch (IOException e) {
+            throw new JSONException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean isArray(Object tree) {
+        return ((com.fasterxml.jackson.databind.JsonNode) tree).isArray();
+    }
+
+    @Override
+    public String toJson(Object tree) {
+        try {
+            return om.writeValueAsString(tree);
+        } catch (IOException e) {
+            throw new JSONException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String writePatch(JsonPatch patch) {
+        ArrayNode items = om.createArrayNode();
+        for (JsonPatchItem item : patch.getOperations()) {
+            ObjectNode row = items.addObject()
+                    .put("op", item.getOp().name())
+                    .put("path", item.getPath());
+            if (item.getValue() != null) {
+                row.set(item.getOp().getOperationtype(), value(item.getValue()));
+            }
+        }
+        return toJson(items);
+    }
+
+    private com.fasterxml.jackson.databind.JsonNode value(Object value) {
+        if (value instanceof JSONObject || value instanceof JSONArray || value instanceof JsonNode) {
+            return (com.fasterxml.jackson.databind.JsonNode) parse(value.toString());
+        }
+        return om.valueToTree(value);
+    }
+}
@@ -42,7 +42,7 @@ import java.io.InputStream;
 
 public class JacksonObjectMapper implements ObjectMapper {
 
-	private com.fasterxml.jackson.databind.ObjectMapper om = new com.fasterxml.jackson.databind.ObjectMapper();
+	protected com.fasterxml.jackson.databind.ObjectMapper om = new com.fasterxml.jackson.databind.ObjectMapper();
 
 	public JacksonObjectMapper(){
 		om.registerModule(new GuavaModule());
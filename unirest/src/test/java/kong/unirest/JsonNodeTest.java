@@ -25,8 +25,14 @@
 
 package kong.unirest;
 
+import org.json.JSONException;
+import org.json.JSONObject;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.Assert.*;
 
 public class JsonNodeTest {
@@ -56,4 +62,84 @@ public class JsonNodeTest {
         assertEquals("{}", new JsonNode("").toString());
         assertEquals("{}", new JsonNode(null).toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void canParseFromAStream() {
+        String json = " \n{\"foo\":\"bär\"}";
+        JsonNode node = new JsonNode(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+        assertEquals(false, node.isArray());
+        assertEquals("bär", node.getObject().getString("foo"));
+    }
+
+    @Test
+    public void canParseAnArrayFromAReader() {
+        JsonNode node = JsonNode.parse(new StringReader("  [1,2]"));
+        assertEquals(true, node.isArray());
+        assertEquals(2, node.getArray().getInt(1));
+    }
+
+    @Test
+    public void emptyStreamsResultInEmptyJson() {
+        assertEquals("{}", JsonNode.parse(new StringReader("  ")).toString());
+    }
+
+    @Test
+    public void theWrapperArrayOfAnObjectIsOnlyBuiltOnce() {
+        JsonNode node = new JsonNode("{\"foo\":\"bar\"}");
+        assertSame(node.getArray(), node.getArray());
+        assertSame(node.getObject(), node.getArray().getJSONObject(0));
+    }
+
+    @Test
+    public void invalidJsonReportsTheErrorOfTheParserForItsFirstCharacter() {
+        assertException(() -> new JsonNode("You did something bad"), "A JSONArray text must start with '[' at 1 [character 2 line 1]");
+        assertException(() -> new JsonNode("{\"foo\""), "Expected a ':' after a key at 6 [character 7 line 1]");
+    }
+
+    @Test
+    public void lazyNodesOnlyParseWhenTheTreeIsNeeded() {
+        JsonNode node = JsonNode.lazy(" [{\"foo\":\"bar\"}");
+        assertEquals(true, node.isArray());
+        assertException(node::getArray, "Expected a ',' or ']' at 15 [character 16 line 1]");
+
+        JsonNode object = JsonNode.lazy("{\"foo\":\"bar\"}");
+        assertEquals(false, object.isArray());
+        assertEquals("bar", object.getArray().getJSONObject(0).getString("foo"));
+        assertEquals("{\"foo\":\"bar\"}", object.toString());
+        assertEquals("{}", JsonNode.lazy(" ").toString());
+    }
+
+    @Test
+    public void otherEnginesAreOnlyConvertedToOrgJsonWhenAsked() {
+        JsonNode node = new JsonNode(" {\"foo\":[1,2]}", new JacksonJsonEngine());
+        assertEquals(false, node.isArray());
+        assertEquals("{\"foo\":[1,2]}", node.toString());
+
+        node.getObject().put("bar", "baz");
+        assertSame(node.getObject(), node.getArray().getJSONObject(0));
+        assertEquals("baz", new JSONObject(node.toString()).getString("bar"));
+    }
+
+    @Test
+    public void otherEnginesCanParseStreamsAndLazily() {
+        JsonNode node = JsonNode.parse(new StringReader("[{\"foo\":\"bär\"}]"), new JacksonJsonEngine());
+        assertEquals(true, node.isArray());
+        assertEquals("bär", node.getArray().getJSONObject(0).getString("foo"));
+        assertEquals("{}", JsonNode.parse(new StringReader(" "), new JacksonJsonEngine()).toString());
+
+        JsonNode lazy = JsonNode.lazy("[1,", new JacksonJsonEngine());
+        assertEquals(true, lazy.isArray());
+        assertException(lazy::toString, null);
+    }
+
+    private void assertException(Runnable runnable, String message) {
+        try {
+            runnable.run();
+            fail("Expected an exception");
+        } catch (JSONException e) {
+            if (message != null) {
+                assertEquals(message, e.getMessage());
+            }
+        }
+    }
+}
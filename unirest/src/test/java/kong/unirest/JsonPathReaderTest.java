@@ -0,0 +1,110 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JsonPathReaderTest {
+    private static final String DOC = "{\"meta\":{\"next\":\"/page/2\",\"count\":3},"
+            + "\"skipped\":{\"deep\":[1,{\"x\":\"}]\\\"\"}],\"s\":\"a\\\"b\"},"
+            + "\"data\":[{\"id\":1,\"name\":\"one\"},{\"id\":2.5,\"name\":\"t\\u00e9\"},{\"id\":null,\"tags\":[\"a\",\"b\"]}]}";
+
+    @Test
+    public void selectsMembersAndWildcards() {
+        JsonPathValues values = read(DOC, "$.data[*].id", "$.meta.next", "$['data'][1].name", "$.data.*.tags[1]");
+
+        assertEquals(Arrays.asList(1, 2.5, JSONObject.NULL), values.get("$.data[*].id"));
+        assertEquals(Collections.singletonList("/page/2"), values.get("$.meta.next"));
+        assertEquals(Collections.singletonList("té"), values.get("$['data'][1].name"));
+        assertEquals(Collections.singletonList("b"), values.get("$.data.*.tags[1]"));
+    }
+
+    @Test
+    public void objectsAndArraysAreMaterialized() {
+        JsonPathValues values = read(DOC, "$.meta", "$.meta.count", "$.data[2].tags", "$");
+
+        assertEquals("/page/2", ((JSONObject) values.getFirst("$.meta").get()).getString("next"));
+        assertEquals(3, values.getFirst("$.meta.count").get());
+        assertEquals(new JSONArray("[\"a\",\"b\"]").toString(), values.getFirst("$.data[2].tags").get().toString());
+        assertEquals(3, ((JSONObject) values.getFirst("$").get()).getJSONArray("data").length());
+    }
+
+    @Test
+    public void missingPathsHaveNoValues() {
+        JsonPathValues values = read(DOC, "$.nope", "$.data[9].id", "$.meta[0]");
+
+        assertEquals(Collections.emptyList(), values.get("$.nope"));
+        assertEquals(Collections.emptyList(), values.get("$.data[9].id"));
+        assertEquals(Collections.emptyList(), values.get("$.meta[0]"));
+        assertEquals(Collections.emptyList(), values.get("$.never.asked"));
+        assertTrue(read("", "$.a").get("$.a").isEmpty());
+    }
+
+    @Test
+    public void skippedSubtreesAreStillChecked() {
+        assertInvalid("{\"a\":1,\"b\":[1,2}");
+        assertInvalid("{\"a\":1,\"b\":\"open}");
+        assertInvalid("{\"a\":1,}");
+        assertInvalid("{\"a\":1} x");
+        assertInvalid("[1,2");
+    }
+
+    @Test
+    public void unsupportedPathsAreRejected() {
+        for (String path : Arrays.asList("data", "$..id", "$.data[-1]", "$.data[?(@.id)]", "$['open")) {
+            try {
+                JsonPath.compile(path);
+                fail("Expected " + path + " to be rejected");
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().startsWith("Unsupported JSON path"));
+            }
+        }
+    }
+
+    private void assertInvalid(String json) {
+        try {
+            read(json, "$.a");
+            fail("Expected " + json + " to fail");
+        } catch (JSONException expected) {
+            // expected
+        }
+    }
+
+    private JsonPathValues read(String json, String... paths) {
+        return JsonPathReader.read(new StringReader(json), JsonPath.compile(paths));
+    }
+}
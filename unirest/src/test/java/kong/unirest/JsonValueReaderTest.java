@@ -0,0 +1,78 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class JsonValueReaderTest {
+
+    @Test
+    public void readsTheElementsOfAnArray() throws IOException {
+        assertEquals(Arrays.asList("{\"a\":[1,{\"b\":2}]}", "[3]", "\"x\\\"]\"", "4.5", "true", "null"),
+                read(" [ {\"a\":[1,{\"b\":2}]} , [3],\"x\\\"]\",4.5 ,true,null ] "));
+    }
+
+    @Test
+    public void emptyArraysHaveNoElements() throws IOException {
+        assertEquals(Arrays.asList(), read("[ ]"));
+        assertEquals(Arrays.asList(), read(""));
+    }
+
+    @Test
+    public void readsNewlineDelimitedValues() throws IOException {
+        assertEquals(Arrays.asList("{\"a\":1}", "{\"a\":\"}\"}", "7"),
+                read("{\"a\":1}\n{\"a\":\"}\"}\r\n7\n"));
+    }
+
+    @Test
+    public void truncatedArraysFail() throws IOException {
+        try {
+            read("[{\"a\":1},{\"a\":");
+            fail("should have thrown");
+        } catch (UnirestException e) {
+            assertEquals("Unexpected end of JSON value", e.getMessage());
+        }
+    }
+
+    private static List<String> read(String json) throws IOException {
+        JsonValueReader reader = new JsonValueReader(new StringReader(json));
+        List<String> values = new ArrayList<>();
+        String value;
+        while ((value = reader.next()) != null) {
+            values.add(value);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ParallelArrayDecoderTest {
+    private final Config config = new Config().parallelArrayDecoding(1).parallelDecodingPool(new ForkJoinPool(4));
+
+    @Test
+    public void splitsTheTopLevelElements() {
+        assertEquals(Arrays.asList("{\"a\":[1,{\"b\":2}]}", "[3,4]", "\"x\\\",]\"", "4.5", "true", "null"),
+                split(" [ {\"a\":[1,{\"b\":2}]} , [3,4],\"x\\\",]\",4.5 ,true,null ] ", StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void emptyArraysHaveNoElements() {
+        assertEquals(Arrays.asList(), split("[]", StandardCharsets.UTF_8));
+        assertEquals(Arrays.asList(), split("\uFEFF [ \n] ", StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void multiByteCharactersAreKept() {
+        assertEquals(Arrays.asList("\"café\"", "\"☃,\""), split("[\"café\",\"☃,\"]", StandardCharsets.UTF_8));
+        assertEquals(Arrays.asList("\"café\""), split("[\"café\"]", StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void bodiesWhichAreNotPlainArraysAreNotSplit() {
+        assertNull(split("{\"a\":[1,2]}", StandardCharsets.UTF_8));
+        assertNull(split("[1,2", StandardCharsets.UTF_8));
+        assertNull(split("[1,2] 3", StandardCharsets.UTF_8));
+        assertNull(split("[1,,2]", StandardCharsets.UTF_8));
+        assertNull(split("[\"a,b]", StandardCharsets.UTF_8));
+        assertNull(split("['a,b']", StandardCharsets.UTF_8));
+        assertNull(split("[1, /* two */ 2]", StandardCharsets.UTF_8));
+        assertNull(split("[1,2]", StandardCharsets.UTF_16));
+    }
+
+    @Test
+    public void mapsObjectArraysInOrder() {
+        DecodedResponse.BufferDecoder<Item[]> decoder = ParallelArrayDecoder.of(new JacksonObjectMapper(), Item[].class, config, this::notUsed);
+
+        Item[] items = decoder.decode(ByteBuffer.wrap(items(1000).getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+
+        assertEquals(1000, items.length);
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(i, items[i].id);
+            assertEquals("item " + i, items[i].name);
+        }
+    }
+
+    @Test
+    public void mapsListsInOrder() {
+        DecodedResponse.BufferDecoder<List<Item>> decoder = ParallelArrayDecoder.of(new JacksonObjectMapper(), new GenericType<List<Item>>(){}, config, this::notUsed);
+
+        List<Item> items = decoder.decode(ByteBuffer.wrap(items(500).getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+
+        assertEquals(IntStream.range(0, 500).boxed().collect(Collectors.toList()),
+                items.stream().map(i -> i.id).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void mapsJsonNodes() {
+        DecodedResponse.BufferDecoder<JsonNode> decoder = ParallelArrayDecoder.json(config, this::notUsed);
+
+        JsonNode node = decoder.decode(ByteBuffer.wrap("[{\"a\":1},[2],\"three\",4,null]".getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+
+        assertEquals("[{\"a\":1},[2],\"three\",4,null]", node.toString());
+    }
+
+    @Test
+    public void otherBodiesGoToTheFallback() {
+        DecodedResponse.BufferDecoder<JsonNode> decoder = ParallelArrayDecoder.json(config, (b, c) -> new JsonNode("{\"fallback\":true}"));
+
+        assertEquals("{\"fallback\":true}", decoder.decode(ByteBuffer.wrap("{\"a\":1}".getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8).toString());
+        assertEquals("{\"fallback\":true}", decoder.decode(ByteBuffer.wrap("[1,".getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8).toString());
+    }
+
+    @Test
+    public void onlyBodiesOverTheThresholdAreSplit() {
+        Config small = new Config().parallelArrayDecoding(100);
+        DecodedResponse.BufferDecoder<JsonNode> decoder = ParallelArrayDecoder.json(small, (b, c) -> new JsonNode("{\"fallback\":true}"));
+
+        assertEquals("{\"fallback\":true}", decoder.decode(ByteBuffer.wrap("[1,2]".getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8).toString());
+    }
+
+    @Test
+    public void offByDefault() {
+        DecodedResponse.BufferDecoder<Item[]> fallback = this::notUsed;
+
+        assertSame(fallback, ParallelArrayDecoder.of(new JacksonObjectMapper(), Item[].class, new Config(), fallback));
+        DecodedResponse.BufferDecoder<int[]> primitives = this::notUsed;
+        assertSame(primitives, ParallelArrayDecoder.of(new JacksonObjectMapper(), int[].class, config, primitives));
+    }
+
+    private <T> T notUsed(ByteBuffer bytes, Charset charset) {
+        throw new AssertionError("should have been decoded in parallel");
+    }
+
+    private List<String> split(String json, Charset charset) {
+        ByteBuffer bytes = ByteBuffer.wrap(json.getBytes(charset));
+        ParallelArrayDecoder.Slices slices = ParallelArrayDecoder.split(bytes, charset);
+        if (slices == null) {
+            return null;
+        }
+        List<String> elements = new ArrayList<>();
+        for (int i = 0; i < slices.size(); i++) {
+            elements.add(slices.text(i));
+        }
+        return elements;
+    }
+
+    static String items(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> "{\"id\":" + i + ",\"name\":\"item " + i + "\",\"tags\":[\"a,b\",\"c]\"]}")
+                .collect(Collectors.joining(",\n", "[", "]"));
+    }
+
+    public static class Item {
+        public int id;
+        public String name;
+        public List<String> tags;
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares mapping a large array one element after another with mapping it in parallel.
+ * Run it by hand on a machine with several cores, it takes a while and the numbers depend on the box.
+ */
+@Ignore
+public class ParallelArrayDecodingBenchmark {
+    private static final int ELEMENTS = 200_000;
+    private static final int ROUNDS = 10;
+
+    @Test
+    public void objectArrays() {
+        ObjectMapper om = new JacksonObjectMapper();
+        compare("asObject(Item[].class)",
+                DecodedResponse.streaming((s, c) -> om.readValue(s, c, ParallelArrayDecoderTest.Item[].class)),
+                ParallelArrayDecoder.of(om, ParallelArrayDecoderTest.Item[].class, parallel(), (b, c) -> null));
+    }
+
+    @Test
+    public void jsonNodes() {
+        compare("asJson()",
+                DecodedResponse.streaming(JsonNode::new),
+                ParallelArrayDecoder.json(parallel(), (b, c) -> null));
+    }
+
+    private Config parallel() {
+        return new Config().parallelArrayDecoding(1).parallelDecodingPool(ForkJoinPool.commonPool());
+    }
+
+    private void compare(String name, DecodedResponse.BufferDecoder<?> sequential, DecodedResponse.BufferDecoder<?> parallel) {
+        byte[] body = ParallelArrayDecoderTest.items(ELEMENTS).getBytes(StandardCharsets.UTF_8);
+        long one = time(sequential, body);
+        long many = time(parallel, body);
+        System.out.printf("%s: %,d bytes, %d threads. sequential %dms, parallel %dms, %.1fx%n",
+                name, body.length, ForkJoinPool.commonPool().getParallelism(), one, many, (double) one / many);
+    }
+
+    private long time(DecodedResponse.BufferDecoder<?> decoder, byte[] body) {
+        for (int i = 0; i < ROUNDS; i++) {
+            decoder.decode(ByteBuffer.wrap(body), StandardCharsets.UTF_8);
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            decoder.decode(ByteBuffer.wrap(body), StandardCharsets.UTF_8);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000;
+    }
+}
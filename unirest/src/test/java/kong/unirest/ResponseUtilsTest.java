@@ -33,8 +33,11 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -69,6 +72,51 @@ public class ResponseUtilsTest {
         assertEquals("SINDARIN-42", getCharSet(null));
     }
 
+    @Test
+    public void charsetParameterIsFoundAnywhereInTheHeader() {
+        defaultEncoding("UTF-8");
+
+        assertEquals("EUC-JP", getCharSet("text/html;charset=euc-jp"));
+        assertEquals("EUC-JP", getCharSet("text/html; CharSet= \"euc-jp\"; q=1"));
+        assertEquals("EUC-JP", getCharSet("text/html; foo=bar; charset=euc-jp"));
+        assertEquals("UTF-8", getCharSet("text/html; xcharset=euc-jp"));
+    }
+
+    @Test
+    public void unknownCharsetsFallBackToTheDefault() {
+        defaultEncoding("ISO-8859-1");
+
+        assertEquals(StandardCharsets.ISO_8859_1, getContentCharset("text/html; charset=klingon"));
+        assertEquals(StandardCharsets.ISO_8859_1, getContentCharset("text/html; charset=\"no good\""));
+        assertEquals(StandardCharsets.UTF_16, getContentCharset("text/html; charset=utf-16"));
+
+        defaultEncoding("SINDARIN-42");
+        assertEquals(StandardCharsets.UTF_8, getContentCharset(null));
+    }
+
+    @Test
+    public void theCharsetIsOnlyParsedOnce() {
+        defaultEncoding("UTF-8");
+        test.type = "text/html; charset=utf-16";
+
+        assertSame(test.getCharSet(), test.getCharSet());
+        assertSame(StandardCharsets.UTF_16, test.getContentCharset());
+    }
+
+    @Test
+    public void responsesImplementingOnlyTheOriginalMethodsStillWork() {
+        PlainResponse plain = new PlainResponse();
+        plain.type = "text/html; charset=iso-8859-1";
+
+        assertSame(Unirest.config(), plain.getConfig());
+        assertEquals(StandardCharsets.ISO_8859_1, plain.getContentCharset());
+    }
+
+    private Charset getContentCharset(String content) {
+        test.type = content;
+        return test.getContentCharset();
+    }
+
     private void defaultEncoding(String t) {
         when(config.getDefaultResponseEncoding()).thenReturn(t);
     }
@@ -141,4 +189,53 @@ public class ResponseUtilsTest {
             return null;
         }
     }
-}
\ No newline at end of file
+
+    // a RawResponse written against the original interface, without any of the methods added since
+    public static class PlainResponse implements RawResponse {
+        public String type;
+
+        public int getStatus() {
+            return 200;
+        }
+
+        public String getStatusText() {
+            return "OK";
+        }
+
+        public Headers getHeaders() {
+            return new Headers();
+        }
+
+        public InputStream getContent() {
+            return null;
+        }
+
+        public byte[] getContentAsBytes() {
+            return new byte[0];
+        }
+
+        public String getContentAsString() {
+            return "";
+        }
+
+        public String getContentAsString(String charset) {
+            return "";
+        }
+
+        public InputStreamReader getContentReader() {
+            return null;
+        }
+
+        public boolean hasContent() {
+            return false;
+        }
+
+        public String getContentType() {
+            return type;
+        }
+
+        public String getEncoding() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import org.apache.http.entity.InputStreamEntity;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ReplayableEntityTest {
+
+    private final byte[] content = randomBytes(100_000);
+
+    @Test
+    public void canWriteTheSameContentMoreThanOnce() throws IOException {
+        ReplayableEntity entity = entity(content, 1024);
+
+        assertTrue(entity.isRepeatable());
+        assertArrayEquals(content, write(entity));
+        assertArrayEquals(content, write(entity));
+        entity.close();
+    }
+
+    @Test
+    public void aPartialAttemptIsContinuedFromTheOriginalStream() throws IOException {
+        ReplayableEntity entity = entity(content, 10);
+
+        InputStream firstTry = entity.getContent();
+        byte[] partial = new byte[5000];
+        assertEquals(5000, firstTry.read(partial));
+
+        assertArrayEquals(content, write(entity));
+        entity.close();
+    }
+
+    @Test
+    public void smallBodiesNeverLeaveMemory() throws IOException {
+        ReplayBuffer buffer = new ReplayBuffer(1024);
+        buffer.write(content, 0, 1024);
+        assertFalse(buffer.isSpilled());
+
+        buffer.write(content, 1024, 1);
+        assertTrue(buffer.isSpilled());
+
+        byte[] read = new byte[2];
+        assertEquals(1, buffer.read(1023, read, 0, 2));
+        assertEquals(1, buffer.read(1024, read, 1, 1));
+        assertEquals(content[1023], read[0]);
+        assertEquals(content[1024], read[1]);
+        assertEquals(-1, buffer.read(1025, read, 0, 1));
+        buffer.close();
+    }
+
+    @Test
+    public void keepsTheLengthOfTheOriginal() throws IOException {
+        assertEquals(content.length, entity(content, 0).getContentLength());
+    }
+
+    private ReplayableEntity entity(byte[] bytes, int memory) throws IOException {
+        return new ReplayableEntity(new InputStreamEntity(new ByteArrayInputStream(bytes), bytes.length), memory);
+    }
+
+    private byte[] write(ReplayableEntity entity) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entity.writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import kong.unirest.Config;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseBuffersTest {
+
+    @Test
+    public void decodesBuffers() {
+        byte[] bytes = "xxcafé☃".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("café☃", ResponseBuffers.decode(ByteBuffer.wrap(bytes, 2, bytes.length - 2).slice(), StandardCharsets.UTF_8));
+        assertEquals("plain", ResponseBuffers.decode(ByteBuffer.wrap("xplain".getBytes(StandardCharsets.US_ASCII), 1, 5), StandardCharsets.US_ASCII));
+        assertEquals("\ufffd", ResponseBuffers.decode(ByteBuffer.wrap(new byte[]{(byte) 0xE9}), StandardCharsets.US_ASCII));
+        assertEquals("é", ResponseBuffers.decode(ByteBuffer.wrap(new byte[]{(byte) 0xE9}), StandardCharsets.ISO_8859_1));
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+        direct.position(2);
+        assertEquals("café☃", ResponseBuffers.decode(direct, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void theDeclaredLengthIsOnlyAHintWhenReadingABody() throws Exception {
+        byte[] hello = "hello".getBytes(StandardCharsets.UTF_8);
+        Config unbounded = new Config().responseSpillThreshold(0);
+        Config spilling = new Config().responseSpillThreshold(3_000_000_000L);
+
+        for (Config config : new Config[]{unbounded, spilling}) {
+            ByteBuffer buffer = ResponseBuffers.read(new ByteArrayInputStream(hello), 2_000_000_000L, config);
+
+            assertEquals("hello", ResponseBuffers.decode(buffer, StandardCharsets.UTF_8));
+            assertTrue(buffer.capacity() <= 1024 * 1024);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * The MIT License
+ *
+ * Copyright for portions of unirest-java are held by Kong Inc (c) 2013.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package kong.unirest.apache;
+
+import kong.unirest.Config;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.util.EntityUtils;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+public class SpillingResponseConsumerTest {
+
+    @Test
+    public void theDeclaredLengthIsOnlyAHintForTheBuffer() throws Exception {
+        SpillingResponseConsumer consumer = new SpillingResponseConsumer(new Config().maxResponseSize(4_000_000_000L));
+        BasicHttpEntity declared = new BasicHttpEntity();
+        declared.setContentLength(3_000_000_000L);
+
+        consumer.onResponseReceived(new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK"));
+        consumer.onEntityEnclosed(declared, null);
+        consumer.onContentReceived(decoder("hello"), null);
+        HttpResponse response = consumer.buildResult(null);
+
+        assertEquals("hello", EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8));
+    }
+
+    private static ContentDecoder decoder(String body) {
+        ByteBuffer content = ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8));
+        return new ContentDecoder() {
+            @Override
+            public int read(ByteBuffer dst) {
+                if (!content.hasRemaining()) {
+                    return -1;
+                }
+                int count = Math.min(dst.remaining(), content.remaining());
+                for (int i = 0; i < count; i++) {
+                    dst.put(content.get());
+                }
+                return count;
+            }
+
+            @Override
+            public boolean isCompleted() {
+                return !content.hasRemaining();
+            }
+        };
+    }
+}